@@ -67,6 +67,9 @@ public interface Curve1174Curve
         Elligator1.calculateElligatorR(ELLIGATOR_C);
     public static final ModE251M9 ELLIGATOR_S =
         Elligator1.calculateElligatorS(ELLIGATOR_C);
+    public static final CurveConstants<ModE251M9> CONSTANTS =
+        new CurveConstants<>(4, -2, MONTGOMERY_A, MONTGOMERY_B,
+                             ELLIGATOR_C, ELLIGATOR_R, ELLIGATOR_S);
 
     /**
      * The value {@code -2}.
@@ -103,4 +106,12 @@ public interface Curve1174Curve
     public default ModE251M9 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE251M9> constants() {
+        return CONSTANTS;
+    }
 }
@@ -62,6 +62,8 @@ public interface Curve25519Curve
         MontgomeryBirationalEquivalence
         .montgomeryBfromEdwards(new ModE255M19(EDWARDS_A),
                                 new ModE255M19(EDWARDS_D));
+    public static final CurveConstants<ModE255M19> CONSTANTS =
+        new CurveConstants<>(8, 2, MONTGOMERY_A, MONTGOMERY_B);
 
     /**
      * The value {@code 2}.
@@ -108,4 +110,12 @@ public interface Curve25519Curve
     public default ModE255M19 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE255M19> constants() {
+        return CONSTANTS;
+    }
 }
@@ -68,6 +68,9 @@ public interface Curve41417Curve
         Elligator1.calculateElligatorR(ELLIGATOR_C);
     public static final ModE414M17 ELLIGATOR_S =
         Elligator1.calculateElligatorS(ELLIGATOR_C);
+    public static final CurveConstants<ModE414M17> CONSTANTS =
+        new CurveConstants<>(8, -2, MONTGOMERY_A, MONTGOMERY_B,
+                             ELLIGATOR_C, ELLIGATOR_R, ELLIGATOR_S);
 
     /**
      * The value {@code -2}.
@@ -104,4 +107,12 @@ public interface Curve41417Curve
     public default ModE414M17 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE414M17> constants() {
+        return CONSTANTS;
+    }
 }
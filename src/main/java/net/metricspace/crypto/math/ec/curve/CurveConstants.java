@@ -0,0 +1,151 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.curve;
+
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Precomputed constants for a specific curve.  Each curve interface
+ * holds a single instance of this class, which is shared by all
+ * points and groups on that curve.  This allows the curve formulas
+ * to read their constants directly, without cloning or recomputing
+ * them on every call.
+ * <p>
+ * The field elements held by this class are shared, and <i>must not
+ * be modified</i>.  Callers which need a modifiable copy should use
+ * the accessors on the curve interfaces, such as {@link
+ * MontgomeryCurve#montgomeryA()}, which return clones.
+ *
+ * @param <F> The field underlying the curve.
+ */
+public final class CurveConstants<F extends PrimeField<F>> {
+    /**
+     * The cofactor of the curve's group.
+     */
+    public final int cofactor;
+
+    /**
+     * The inverse of the fixed quadratic non-residue.
+     *
+     * @see TwistedEdwardsCurve#nonresidue()
+     */
+    public final F nonresidueInv;
+
+    /**
+     * The value of {@code A} in the Montgomery form {@code B * y^2 =
+     * x^3 + A * x^2 + x}.
+     */
+    public final F montgomeryA;
+
+    /**
+     * The value of {@code B} in the Montgomery form {@code B * y^2 =
+     * x^3 + A * x^2 + x}.
+     */
+    public final F montgomeryB;
+
+    /**
+     * The Montgomery ladder constant {@code (A - 2) / 4}.
+     *
+     * @see MontgomeryCurve#ladderParam(PrimeField)
+     */
+    public final F montgomeryLadderParam;
+
+    /**
+     * The Elligator 1 {@code c} parameter, or {@code null} if the
+     * curve does not support Elligator 1.
+     */
+    public final F elligatorC;
+
+    /**
+     * The Elligator 1 {@code r} parameter, or {@code null} if the
+     * curve does not support Elligator 1.
+     */
+    public final F elligatorR;
+
+    /**
+     * The Elligator 1 {@code s} parameter, or {@code null} if the
+     * curve does not support Elligator 1.
+     */
+    public final F elligatorS;
+
+    /**
+     * Initialize a {@code CurveConstants}.  This constructor takes
+     * possession of the parameters, and computes the derived values.
+     *
+     * @param cofactor The cofactor of the curve's group.
+     * @param nonresidue The fixed quadratic non-residue.
+     * @param montgomeryA The Montgomery {@code A} parameter.
+     * @param montgomeryB The Montgomery {@code B} parameter.
+     * @param elligatorC The Elligator 1 {@code c} parameter, or
+     *                   {@code null}.
+     * @param elligatorR The Elligator 1 {@code r} parameter, or
+     *                   {@code null}.
+     * @param elligatorS The Elligator 1 {@code s} parameter, or
+     *                   {@code null}.
+     */
+    public CurveConstants(final int cofactor,
+                          final int nonresidue,
+                          final F montgomeryA,
+                          final F montgomeryB,
+                          final F elligatorC,
+                          final F elligatorR,
+                          final F elligatorS) {
+        this.cofactor = cofactor;
+        this.nonresidueInv = montgomeryA.clone();
+        this.nonresidueInv.set(nonresidue);
+        this.nonresidueInv.inv();
+        this.montgomeryA = montgomeryA;
+        this.montgomeryB = montgomeryB;
+        this.montgomeryLadderParam = MontgomeryCurve.ladderParam(montgomeryA);
+        this.elligatorC = elligatorC;
+        this.elligatorR = elligatorR;
+        this.elligatorS = elligatorS;
+    }
+
+    /**
+     * Initialize a {@code CurveConstants} for a curve which does not
+     * support Elligator 1.  This constructor takes possession of the
+     * parameters, and computes the derived values.
+     *
+     * @param cofactor The cofactor of the curve's group.
+     * @param nonresidue The fixed quadratic non-residue.
+     * @param montgomeryA The Montgomery {@code A} parameter.
+     * @param montgomeryB The Montgomery {@code B} parameter.
+     */
+    public CurveConstants(final int cofactor,
+                          final int nonresidue,
+                          final F montgomeryA,
+                          final F montgomeryB) {
+        this(cofactor, nonresidue, montgomeryA, montgomeryB,
+             null, null, null);
+    }
+}
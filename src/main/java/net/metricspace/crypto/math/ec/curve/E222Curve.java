@@ -67,6 +67,9 @@ public interface E222Curve
         Elligator1.calculateElligatorR(ELLIGATOR_C);
     public static final ModE222M117 ELLIGATOR_S =
         Elligator1.calculateElligatorS(ELLIGATOR_C);
+    public static final CurveConstants<ModE222M117> CONSTANTS =
+        new CurveConstants<>(4, 2, MONTGOMERY_A, MONTGOMERY_B,
+                             ELLIGATOR_C, ELLIGATOR_R, ELLIGATOR_S);
 
     /**
      * The value {@code 2}.
@@ -103,4 +106,12 @@ public interface E222Curve
     public default ModE222M117 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE222M117> constants() {
+        return CONSTANTS;
+    }
 }
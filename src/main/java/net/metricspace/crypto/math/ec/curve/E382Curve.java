@@ -67,6 +67,9 @@ public interface E382Curve
         Elligator1.calculateElligatorR(ELLIGATOR_C);
     public static final ModE382M105 ELLIGATOR_S =
         Elligator1.calculateElligatorS(ELLIGATOR_C);
+    public static final CurveConstants<ModE382M105> CONSTANTS =
+        new CurveConstants<>(4, -2, MONTGOMERY_A, MONTGOMERY_B,
+                             ELLIGATOR_C, ELLIGATOR_R, ELLIGATOR_S);
 
     /**
      * The value {@code -2}.
@@ -103,4 +106,12 @@ public interface E382Curve
     public default ModE382M105 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE382M105> constants() {
+        return CONSTANTS;
+    }
 }
@@ -68,6 +68,9 @@ public interface E521Curve
         Elligator1.calculateElligatorR(ELLIGATOR_C);
     public static final ModE521M1 ELLIGATOR_S =
         Elligator1.calculateElligatorS(ELLIGATOR_C);
+    public static final CurveConstants<ModE521M1> CONSTANTS =
+        new CurveConstants<>(4, -2, MONTGOMERY_A, MONTGOMERY_B,
+                             ELLIGATOR_C, ELLIGATOR_R, ELLIGATOR_S);
 
     /**
      * The value {@code -2}.
@@ -104,4 +107,12 @@ public interface E521Curve
     public default ModE521M1 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE521M1> constants() {
+        return CONSTANTS;
+    }
 }
@@ -62,6 +62,8 @@ public interface M221Curve
         MontgomeryBirationalEquivalence
         .montgomeryBfromEdwards(new ModE221M3(EDWARDS_A),
                                 new ModE221M3(EDWARDS_D));
+    public static final CurveConstants<ModE221M3> CONSTANTS =
+        new CurveConstants<>(8, -2, MONTGOMERY_A, MONTGOMERY_B);
 
     /**
      * The value {@code -2}.
@@ -108,4 +110,12 @@ public interface M221Curve
     public default ModE221M3 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE221M3> constants() {
+        return CONSTANTS;
+    }
 }
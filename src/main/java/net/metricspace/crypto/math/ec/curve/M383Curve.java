@@ -62,6 +62,8 @@ public interface M383Curve
         MontgomeryBirationalEquivalence
         .montgomeryBfromEdwards(new ModE383M187(EDWARDS_A),
                                 new ModE383M187(EDWARDS_D));
+    public static final CurveConstants<ModE383M187> CONSTANTS =
+        new CurveConstants<>(8, -2, MONTGOMERY_A, MONTGOMERY_B);
 
     /**
      * The value {@code -2}.
@@ -108,4 +110,12 @@ public interface M383Curve
     public default ModE383M187 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE383M187> constants() {
+        return CONSTANTS;
+    }
 }
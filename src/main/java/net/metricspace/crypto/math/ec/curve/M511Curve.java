@@ -62,6 +62,8 @@ public interface M511Curve
         MontgomeryBirationalEquivalence
         .montgomeryBfromEdwards(new ModE511M187(EDWARDS_A),
                                 new ModE511M187(EDWARDS_D));
+    public static final CurveConstants<ModE511M187> CONSTANTS =
+        new CurveConstants<>(8, -2, MONTGOMERY_A, MONTGOMERY_B);
 
     /**
      * The value {@code -2}.
@@ -108,4 +110,12 @@ public interface M511Curve
     public default ModE511M187 montgomeryB() {
         return MONTGOMERY_B.clone();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default CurveConstants<ModE511M187> constants() {
+        return CONSTANTS;
+    }
 }
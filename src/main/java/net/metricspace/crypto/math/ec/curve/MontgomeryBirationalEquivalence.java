@@ -31,6 +31,7 @@
  */
 package net.metricspace.crypto.math.ec.curve;
 
+import net.metricspace.crypto.math.ec.point.BatchInverse;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -84,4 +85,241 @@ public interface MontgomeryBirationalEquivalence<F extends PrimeField<F>>
 
         return out;
     };
+
+    /**
+     * Convert many Edwards {@code y} coordinates to Montgomery {@code
+     * u} coordinates, using a single inversion.  This computes {@code
+     * u = (1 + y) / (1 - y)}.
+     *
+     * @param <F> The field underlying the Edwards curve.
+     * @param y The Edwards {@code y} coordinates.
+     * @param u Array into which to write the Montgomery {@code u}
+     *          coordinates.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <F extends PrimeField<F>>
+        void edwardsYToMontgomeryU(final F[] y,
+                                   final F[] u,
+                                   final PrimeField.Scratchpad scratch)
+        throws IllegalArgumentException {
+        final int n = y.length;
+
+        if (u.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        final F[] inv = (F[])new PrimeField[n];
+
+        try {
+            /* inv = 1 - y */
+            for(int i = 0; i < n; i++) {
+                inv[i] = y[i].clone();
+                inv[i].sub(1);
+                inv[i].neg();
+            }
+
+            BatchInverse.inv(inv, scratch);
+
+            /* u = (1 + y) * inv */
+            for(int i = 0; i < n; i++) {
+                final F out = y[i].clone();
+
+                out.add(1);
+                out.mul(inv[i]);
+                u[i] = out;
+            }
+        } finally {
+            for(int i = 0; i < inv.length; i++) {
+                if (inv[i] != null) {
+                    inv[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert many Montgomery {@code u} coordinates to Edwards {@code
+     * y} coordinates, using a single inversion.  This computes {@code
+     * y = (u - 1) / (u + 1)}.
+     *
+     * @param <F> The field underlying the Edwards curve.
+     * @param u The Montgomery {@code u} coordinates.
+     * @param y Array into which to write the Edwards {@code y}
+     *          coordinates.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <F extends PrimeField<F>>
+        void montgomeryUToEdwardsY(final F[] u,
+                                   final F[] y,
+                                   final PrimeField.Scratchpad scratch)
+        throws IllegalArgumentException {
+        final int n = u.length;
+
+        if (y.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        final F[] inv = (F[])new PrimeField[n];
+
+        try {
+            /* inv = u + 1 */
+            for(int i = 0; i < n; i++) {
+                inv[i] = u[i].clone();
+                inv[i].add(1);
+            }
+
+            BatchInverse.inv(inv, scratch);
+
+            /* y = (u - 1) * inv */
+            for(int i = 0; i < n; i++) {
+                final F out = u[i].clone();
+
+                out.sub(1);
+                out.mul(inv[i]);
+                y[i] = out;
+            }
+        } finally {
+            for(int i = 0; i < inv.length; i++) {
+                if (inv[i] != null) {
+                    inv[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert many points from Edwards to Montgomery coordinates,
+     * using a single inversion.  This computes {@code u = (1 + y) /
+     * (1 - y)} and {@code v = u / x}.  Both divisions are done with
+     * the inverse of {@code (1 - y) * x}.
+     *
+     * @param <F> The field underlying the Edwards curve.
+     * @param x The Edwards {@code x} coordinates.
+     * @param y The Edwards {@code y} coordinates.
+     * @param u Array into which to write the Montgomery {@code u}
+     *          coordinates.
+     * @param v Array into which to write the Montgomery {@code v}
+     *          coordinates.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <F extends PrimeField<F>>
+        void edwardsToMontgomery(final F[] x,
+                                 final F[] y,
+                                 final F[] u,
+                                 final F[] v,
+                                 final PrimeField.Scratchpad scratch)
+        throws IllegalArgumentException {
+        final int n = x.length;
+
+        if (y.length != n || u.length != n || v.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        final F[] inv = (F[])new PrimeField[n];
+
+        try {
+            /* inv = (1 - y) * x */
+            for(int i = 0; i < n; i++) {
+                inv[i] = y[i].clone();
+                inv[i].sub(1);
+                inv[i].neg();
+                inv[i].mul(x[i]);
+            }
+
+            BatchInverse.inv(inv, scratch);
+
+            /* v = (1 + y) * inv
+             * u = v * x
+             */
+            for(int i = 0; i < n; i++) {
+                final F vout = y[i].clone();
+                final F uout;
+
+                vout.add(1);
+                vout.mul(inv[i]);
+                uout = vout.clone();
+                uout.mul(x[i]);
+                u[i] = uout;
+                v[i] = vout;
+            }
+        } finally {
+            for(int i = 0; i < inv.length; i++) {
+                if (inv[i] != null) {
+                    inv[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert many points from Montgomery to Edwards coordinates,
+     * using a single inversion.  This computes {@code x = u / v} and
+     * {@code y = (u - 1) / (u + 1)}.
+     *
+     * @param <F> The field underlying the Edwards curve.
+     * @param u The Montgomery {@code u} coordinates.
+     * @param v The Montgomery {@code v} coordinates.
+     * @param x Array into which to write the Edwards {@code x}
+     *          coordinates.
+     * @param y Array into which to write the Edwards {@code y}
+     *          coordinates.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <F extends PrimeField<F>>
+        void montgomeryToEdwards(final F[] u,
+                                 final F[] v,
+                                 final F[] x,
+                                 final F[] y,
+                                 final PrimeField.Scratchpad scratch)
+        throws IllegalArgumentException {
+        final int n = u.length;
+
+        if (v.length != n || x.length != n || y.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        /* The two denominators are inverted separately, so that the
+         * point (0, 0), with v == 0, still maps to y == -1.
+         */
+        final F[] inv = (F[])new PrimeField[2 * n];
+
+        try {
+            /* inv[2i] = v, inv[2i + 1] = u + 1 */
+            for(int i = 0; i < n; i++) {
+                inv[2 * i] = v[i].clone();
+                inv[(2 * i) + 1] = u[i].clone();
+                inv[(2 * i) + 1].add(1);
+            }
+
+            BatchInverse.inv(inv, scratch);
+
+            /* x = u * inv[2i]
+             * y = (u - 1) * inv[2i + 1]
+             */
+            for(int i = 0; i < n; i++) {
+                final F xout = u[i].clone();
+                final F yout = u[i].clone();
+
+                xout.mul(inv[2 * i]);
+                yout.sub(1);
+                yout.mul(inv[(2 * i) + 1]);
+                x[i] = xout;
+                y[i] = yout;
+            }
+        } finally {
+            for(int i = 0; i < inv.length; i++) {
+                if (inv[i] != null) {
+                    inv[i].destroy();
+                }
+            }
+        }
+    }
 }
@@ -55,4 +55,40 @@ public interface MontgomeryCurve<F extends PrimeField<F>> {
      * @return The value of {@code A} in the Montgomery curve.
      */
     public F montgomeryB();
+
+    /**
+     * The value {@code (A - 2) / 4}, where {@code A} is from the
+     * Montgomery curve of the form {@code B * y^2 = x^3 + A * x^2 +
+     * x}.  This is the curve constant used by the Montgomery ladder.
+     *
+     * @return The value {@code (A - 2) / 4}.
+     */
+    public default F montgomeryLadderParam() {
+        return constants().montgomeryLadderParam.clone();
+    }
+
+    /**
+     * Get the precomputed constants for this curve.  The values in
+     * the result are shared, and must not be modified.
+     *
+     * @return The precomputed constants for this curve.
+     */
+    public CurveConstants<F> constants();
+
+    /**
+     * Calculate the Montgomery ladder constant {@code (A - 2) / 4}.
+     *
+     * @param <F> The field underlying the curve.
+     * @param montgomeryA The Montgomery {@code A} parameter.
+     * @return The value {@code (A - 2) / 4}.
+     */
+    public static <F extends PrimeField<F>>
+        F ladderParam(final F montgomeryA) {
+        final F out = montgomeryA.clone();
+
+        out.sub(2);
+        out.div(4);
+
+        return out;
+    }
 }
@@ -67,4 +67,12 @@ public interface TwistedEdwardsCurve<F extends PrimeField<F>> {
      * @return The value of {@code d} in a twisted Edwards curve.
      */
     public int edwardsD();
+
+    /**
+     * Get the precomputed constants for this curve.  The values in
+     * the result are shared, and must not be modified.
+     *
+     * @return The precomputed constants for this curve.
+     */
+    public CurveConstants<F> constants();
 }
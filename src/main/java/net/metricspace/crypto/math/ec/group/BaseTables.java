@@ -0,0 +1,77 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.group;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.ec.window.FixedBaseTable;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Registry of base point tables.  There is one {@link FixedBaseTable}
+ * for each group class, shared by all instances of that class.  The
+ * {@link FixedBaseTable} objects themselves are cheap to create; the
+ * tables inside them are built the first time they are used.
+ */
+final class BaseTables {
+    /**
+     * The tables, indexed by group class.
+     */
+    private static final ConcurrentMap<Class<?>, FixedBaseTable<?, ?, ?>>
+        TABLES = new ConcurrentHashMap<>();
+
+    private BaseTables() {}
+
+    /**
+     * Get the table for a group, creating it if necessary.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param group The group.
+     * @return The table for {@code group}'s class.
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        FixedBaseTable<S, P, T> get(final ECGroup<S, P, T> group) {
+        return (FixedBaseTable<S, P, T>)
+            TABLES.computeIfAbsent(group.getClass(), cls -> {
+                    try(final P base = group.basePoint()) {
+                        return new FixedBaseTable<>(base);
+                    }
+                });
+    }
+}
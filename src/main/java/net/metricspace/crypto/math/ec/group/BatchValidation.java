@@ -0,0 +1,204 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.group;
+
+import java.security.SecureRandom;
+import java.util.BitSet;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.ec.window.MultiScalar;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Batch validation of untrusted points.  Each point is first checked
+ * against the curve equation.  Membership in the prime-order
+ * subgroup is then checked with a random linear combination: if
+ * every point is in the subgroup, then so is {@code sum(r[i] *
+ * points[i])} for any scalars {@code r[i]}, so multiplying the sum by
+ * the prime order gives the zero point.
+ * <p>
+ * Multiplying by the prime order removes the prime-order part of
+ * every point, so only the values of {@code r[i]} modulo the cofactor
+ * matter.  A point outside the subgroup is therefore missed with
+ * probability at most {@code 1/2} per combination, and the test is
+ * repeated {@link #ROUNDS} times with fresh coefficients.  A failing
+ * combination proves that some point is outside the subgroup; in
+ * that case, the points are split in half, and each half is checked
+ * separately.
+ * <p>
+ * This leaks which points are invalid through timing.
+ */
+final class BatchValidation {
+    /**
+     * Number of random combinations checked for each set of points.
+     */
+    static final int ROUNDS = 128;
+
+    /**
+     * Number of points below which each point is checked by
+     * multiplying it by the prime order, which is cheaper than
+     * {@link #ROUNDS} random combinations.
+     */
+    static final int BATCH_THRESHOLD = 256;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private BatchValidation() {}
+
+    /**
+     * Validate an array of points.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points.  These are not modified.
+     * @param zero The zero point.  This is not modified.
+     * @param order The prime order of the group.
+     * @param cofactor The cofactor of the group.  If this is {@code
+     *                 1}, the subgroup check is skipped.
+     * @return A {@link BitSet} with bit {@code i} set if {@code
+     *         points[i]} is on the curve, and in the prime-order
+     *         subgroup.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        BitSet validate(final P[] points,
+                        final P zero,
+                        final S order,
+                        final int cofactor) {
+        final BitSet valid = new BitSet(points.length);
+
+        try(final T scratch = zero.scratchpad()) {
+            for(int i = 0; i < points.length; i++) {
+                if (points[i].onCurve(scratch) == 1) {
+                    valid.set(i);
+                }
+            }
+        }
+
+        if (cofactor != 1) {
+            final int[] idxs = valid.stream().toArray();
+            final P[] subset = (P[])new ECPoint[idxs.length];
+
+            for(int i = 0; i < idxs.length; i++) {
+                subset[i] = points[idxs[i]];
+            }
+
+            checkSubgroup(subset, idxs, 0, idxs.length,
+                          zero, order, cofactor, valid);
+        }
+
+        return valid;
+    }
+
+    /**
+     * Check the points in a range for subgroup membership, and clear
+     * the bits for any which are not in the subgroup.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points.
+     * @param idxs The index of each point in the original array.
+     * @param lo The index of the first point in the range.
+     * @param hi The index one past the last point in the range.
+     * @param zero The zero point.
+     * @param order The prime order of the group.
+     * @param cofactor The cofactor of the group.
+     * @param valid The validity mask.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <S extends PrimeField<S>,
+                    P extends ECPoint<S, P, T>,
+                    T extends ECPoint.Scratchpad<S>>
+        void checkSubgroup(final P[] points,
+                           final int[] idxs,
+                           final int lo,
+                           final int hi,
+                           final P zero,
+                           final S order,
+                           final int cofactor,
+                           final BitSet valid) {
+        final int n = hi - lo;
+
+        if (n < BATCH_THRESHOLD) {
+            for(int i = lo; i < hi; i++) {
+                try(final P point = points[i].clone()) {
+                    point.mulVartime(order);
+
+                    if (!point.equals(zero)) {
+                        valid.clear(idxs[i]);
+                    }
+                }
+            }
+        } else {
+            final P[] range = (P[])new ECPoint[n];
+            final S[] coeffs = (S[])new PrimeField[n];
+
+            System.arraycopy(points, lo, range, 0, n);
+
+            for(int i = 0; i < n; i++) {
+                coeffs[i] = order.clone();
+            }
+
+            try {
+                for(int i = 0; i < ROUNDS; i++) {
+                    for(int j = 0; j < n; j++) {
+                        coeffs[j].set(RANDOM.nextInt(cofactor));
+                    }
+
+                    try(final P sum = MultiScalar.mulVartime(coeffs, range,
+                                                             zero)) {
+                        sum.mulVartime(order);
+
+                        if (!sum.equals(zero)) {
+                            final int mid = (lo + hi) >>> 1;
+
+                            checkSubgroup(points, idxs, lo, mid,
+                                          zero, order, cofactor, valid);
+                            checkSubgroup(points, idxs, mid, hi,
+                                          zero, order, cofactor, valid);
+
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                for(int i = 0; i < n; i++) {
+                    coeffs[i].destroy();
+                }
+            }
+        }
+    }
+}
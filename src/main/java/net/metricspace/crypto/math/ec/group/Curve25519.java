@@ -55,6 +55,12 @@ public abstract class Curve25519<P extends ECPoint<ModE255M19, P, T>,
                                  T extends ECPoint.Scratchpad<ModE255M19>>
     extends MontgomeryCurveGroup<ModE255M19, P, T>
     implements Curve25519Curve {
+    /**
+     * Bit width of scalars, which is the bit length of the field
+     * modulus.
+     */
+    public static final int SCALAR_BITS = 255;
+
     /**
      * Prime order for the group.  The value is {@code
      * 0x1000000000000000000000000000000014def9dea2f79cd65812631a5cf5d3ed}
@@ -126,4 +132,28 @@ public abstract class Curve25519<P extends ECPoint<ModE255M19, P, T>,
     public ModE255M19 primeOrder() {
         return PRIME_ORDER.clone();
     }
+
+    /**
+     * Ladders on Curve25519 always run for the full width of the field.
+     *
+     * @return The value {@code 255}.
+     */
+    @Override
+    public int ladderBits() {
+        return SCALAR_BITS;
+    }
+
+    /**
+     * Clamped scalars for Curve25519 are multiples of the cofactor
+     * {@code 8} with bit {@code 254} set and all higher bits clear.
+     *
+     * @param bytes The little-endian byte string.
+     * @return The clamped scalar.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     */
+    @Override
+    public ModE255M19 clampScalar(final byte[] bytes)
+        throws IllegalArgumentException {
+        return new ModE255M19(clamp(bytes, SCALAR_BITS, 8));
+    }
 }
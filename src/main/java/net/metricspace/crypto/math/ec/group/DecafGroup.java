@@ -31,6 +31,8 @@
  */
 package net.metricspace.crypto.math.ec.group;
 
+import java.util.BitSet;
+
 import net.metricspace.crypto.math.ec.point.DecafPoint;
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
 import net.metricspace.crypto.math.field.PrimeField;
@@ -74,4 +76,62 @@ public interface DecafGroup<S extends PrimeField<S>,
     public P fromCompressed(final S s,
                             final T scratch)
         throws IllegalArgumentException;
+
+    /**
+     * Create points from an array of compressed representations.
+     * Unlike {@link #fromCompressed(PrimeField)}, this does not throw
+     * an exception on invalid input; instead, invalid entries are
+     * decoded as the zero point, and their bits are clear in the
+     * returned bitmap.
+     *
+     * @param s The compressed points.
+     * @param out Array into which to write the decompressed points.
+     * @return A bitmap whose {@code i}th bit is set if and only if
+     *         {@code s[i]} was a valid compressed point.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    public default BitSet fromCompressedAll(final S[] s,
+                                            final P[] out)
+        throws IllegalArgumentException {
+        try(final T scratch = scratchpad()) {
+            return fromCompressedAll(s, out, scratch);
+        }
+    }
+
+    /**
+     * Create points from an array of compressed representations.
+     * Each point is decoded with {@link DecafPoint#tryDecompress},
+     * which costs one exponentiation rather than the two needed by
+     * {@link #fromCompressed(PrimeField, MontgomeryLadder.Scratchpad)}.
+     * The results are not scaled; use {@link
+     * net.metricspace.crypto.math.ec.point.ECPoint#scaleAll} to scale
+     * them with a single shared inversion if needed.
+     *
+     * @param s The compressed points.
+     * @param out Array into which to write the decompressed points.
+     * @param scratch The scratchpad to use.
+     * @return A bitmap whose {@code i}th bit is set if and only if
+     *         {@code s[i]} was a valid compressed point.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    public default BitSet fromCompressedAll(final S[] s,
+                                            final P[] out,
+                                            final T scratch)
+        throws IllegalArgumentException {
+        if (s.length != out.length) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        final BitSet valid = new BitSet(s.length);
+
+        for(int i = 0; i < s.length; i++) {
+            out[i] = zeroPoint();
+
+            if (out[i].tryDecompress(s[i], scratch) == 1) {
+                valid.set(i);
+            }
+        }
+
+        return valid;
+    }
 }
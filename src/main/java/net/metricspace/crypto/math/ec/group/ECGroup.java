@@ -31,10 +31,15 @@
  */
 package net.metricspace.crypto.math.ec.group;
 
+import java.util.BitSet;
+import java.util.stream.Collector;
+
 import javax.security.auth.Destroyable;
 
 import net.metricspace.crypto.math.ec.group.ECGroup;
 import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.ec.window.FixedBaseTable;
+import net.metricspace.crypto.math.ec.window.MultiScalar;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -45,7 +50,7 @@ import net.metricspace.crypto.math.field.PrimeField;
  * @param <P> Type of points.
  */
 public interface ECGroup<S extends PrimeField<S>,
-                         P extends ECPoint<S, P, ?>,
+                         P extends ECPoint<S, P, T>,
                          T extends ECPoint.Scratchpad<S>> {
     /**
      * Get a scratchpad.  This is a mechanism designed to avoid
@@ -86,6 +91,212 @@ public interface ECGroup<S extends PrimeField<S>,
      */
     public P zeroPoint();
 
+    /**
+     * Multiply the base point by a scalar.  This is equivalent to
+     * calling {@code mul} on the result of {@link #basePoint}, but
+     * uses a table of precomputed multiples of the base point, which
+     * is built the first time it is needed.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @return A new point, equal to the base point multiplied by
+     *         {@code scalar}.
+     * @see FixedBaseTable
+     */
+    public default P mulBase(final S scalar) {
+        try(final T scratch = scratchpad()) {
+            return mulBase(scalar, scratch);
+        }
+    }
+
+    /**
+     * Multiply the base point by a scalar.  This is equivalent to
+     * calling {@code mul} on the result of {@link #basePoint}, but
+     * uses a table of precomputed multiples of the base point, which
+     * is built the first time it is needed.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to the base point multiplied by
+     *         {@code scalar}.
+     * @see FixedBaseTable
+     */
+    public default P mulBase(final S scalar,
+                             final T scratch) {
+        return baseTable().mul(scalar, scratch);
+    }
+
+    /**
+     * Get the table of precomputed multiples of the base point used
+     * by {@link #mulBase}.  There is one table for each group class,
+     * shared by all of its instances.
+     *
+     * @return The base point table.
+     */
+    public default FixedBaseTable<S, P, T> baseTable() {
+        return BaseTables.get(this);
+    }
+
+    /**
+     * Compute {@code a * B + b * q}, where {@code B} is the base
+     * point.  The two multiplications share a single sequence of
+     * doublings, and the multiples of the base point are taken from
+     * the same precomputed table as {@link #mulBase}.
+     *
+     * @param a The scalar by which to multiply the base point.
+     * @param q The other point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @return A new point, equal to {@code a * B + b * q}.
+     */
+    public default P mulBaseAdd(final S a,
+                                final P q,
+                                final S b) {
+        try(final T scratch = scratchpad()) {
+            return mulBaseAdd(a, q, b, scratch);
+        }
+    }
+
+    /**
+     * Compute {@code a * B + b * q}, where {@code B} is the base
+     * point.  The two multiplications share a single sequence of
+     * doublings, and the multiples of the base point are taken from
+     * the same precomputed table as {@link #mulBase}.
+     *
+     * @param a The scalar by which to multiply the base point.
+     * @param q The other point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to {@code a * B + b * q}.
+     */
+    public default P mulBaseAdd(final S a,
+                                final P q,
+                                final S b,
+                                final T scratch) {
+        return baseTable().mulAdd(a, q, b, scratch);
+    }
+
+    /**
+     * Compute {@code a * B + b * q}, where {@code B} is the base
+     * point, in variable time.  This is mathematically equivalent to
+     * {@link #mulBaseAdd}, but uses the width-{@code w} NAF of
+     * {@code b}, as {@link ECPoint#mulVartime} does.
+     * <p>
+     * <b>This is not constant-time</b>, and must only be used with
+     * public scalars.
+     *
+     * @param a The (public) scalar by which to multiply the base
+     *          point.
+     * @param q The other point.
+     * @param b The (public) scalar by which to multiply {@code q}.
+     * @return A new point, equal to {@code a * B + b * q}.
+     */
+    public default P mulBaseAddVartime(final S a,
+                                       final P q,
+                                       final S b) {
+        try(final T scratch = scratchpad()) {
+            return mulBaseAddVartime(a, q, b, scratch);
+        }
+    }
+
+    /**
+     * Compute {@code a * B + b * q}, where {@code B} is the base
+     * point, in variable time.  This is mathematically equivalent to
+     * {@link #mulBaseAdd}, but uses the width-{@code w} NAF of
+     * {@code b}, as {@link ECPoint#mulVartime} does.
+     * <p>
+     * <b>This is not constant-time</b>, and must only be used with
+     * public scalars.
+     *
+     * @param a The (public) scalar by which to multiply the base
+     *          point.
+     * @param q The other point.
+     * @param b The (public) scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to {@code a * B + b * q}.
+     */
+    public default P mulBaseAddVartime(final S a,
+                                       final P q,
+                                       final S b,
+                                       final T scratch) {
+        return baseTable().mulAddVartime(a, q, b, scratch);
+    }
+
+    /**
+     * Compute the sum of {@code scalars[i] * points[i]}, in variable
+     * time.  Small inputs use Straus' method; larger ones use
+     * Pippenger's bucket method, with both the windows and the
+     * bucket accumulation within each window split across the common
+     * {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * <b>This is not constant-time</b>, and must only be used with
+     * public scalars.
+     *
+     * @param scalars The (public) scalars.
+     * @param points The points.  These are not modified.
+     * @return A new point, equal to the sum of {@code scalars[i] *
+     *         points[i]}.
+     * @throws IllegalArgumentException If the number of scalars and
+     *                                  points differ.
+     * @see net.metricspace.crypto.math.ec.window.MultiScalar
+     */
+    public default P msmVartime(final S[] scalars,
+                                final P[] points)
+        throws IllegalArgumentException {
+        try(final P zero = zeroPoint()) {
+            return MultiScalar.mulVartime(scalars, points, zero);
+        }
+    }
+
+    /**
+     * Compute the sum of an array of points.  Large arrays are split
+     * and summed in parallel on the common {@link
+     * java.util.concurrent.ForkJoinPool}.  Points which have been
+     * scaled are added with {@link ECPoint#madd}.
+     *
+     * @param points The points.  These are not modified.
+     * @return A new point, equal to the sum of {@code points}.
+     * @see net.metricspace.crypto.math.ec.window.MultiScalar
+     */
+    public default P sum(final P[] points) {
+        try(final P zero = zeroPoint()) {
+            return MultiScalar.sum(points, zero);
+        }
+    }
+
+    /**
+     * Get a {@link Collector} which sums a stream of points.  This
+     * can be used with parallel streams, in which case each thread
+     * accumulates its own partial sum.
+     *
+     * @return A {@link Collector} producing the sum of the points.
+     * @see net.metricspace.crypto.math.ec.window.MultiScalar
+     */
+    public default Collector<P, ?, P> summing() {
+        return MultiScalar.summing(this::zeroPoint);
+    }
+
+    /**
+     * Validate an array of untrusted points, such as those created
+     * with {@link #fromCoords}.  Each point is checked against the
+     * curve equation without any inversions, and the points on the
+     * curve are checked for membership in the prime-order subgroup
+     * with a random linear combination, built on multi-scalar
+     * multiplication.  This is far cheaper than multiplying each
+     * point by the prime order.
+     * <p>
+     * <b>This is not constant-time</b>, and leaks which points are
+     * invalid.
+     *
+     * @param points The points.  These are not modified.
+     * @return A {@link BitSet} with bit {@code i} set if {@code
+     *         points[i]} is valid.
+     */
+    public default BitSet validateAll(final P[] points) {
+        try(final P zero = zeroPoint();
+            final S order = primeOrder()) {
+            return BatchValidation.validate(points, zero, order, cofactor());
+        }
+    }
+
     /**
      * Create a point from a coordinate pair.
      *
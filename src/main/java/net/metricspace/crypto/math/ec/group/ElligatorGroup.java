@@ -76,4 +76,50 @@ public interface ElligatorGroup<S extends PrimeField<S>,
     public P fromHash(final S r,
                       final T scratch)
         throws IllegalArgumentException;
+
+    /**
+     * Create points by hashing an array of values to points on the
+     * curve.
+     *
+     * @param r The hash inputs.
+     * @param out Array of points into which to write the results.
+     *            Any {@code null} entries will be allocated.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    public default void fromHashAll(final S[] r,
+                                    final P[] out)
+        throws IllegalArgumentException {
+        try(final T scratch = scratchpad()) {
+            fromHashAll(r, out, scratch);
+        }
+    }
+
+    /**
+     * Create points by hashing an array of values to points on the
+     * curve.  All divisions share a single inversion; see {@link
+     * Elligator#decodeHashAll}.  The resulting points are not
+     * scaled.
+     *
+     * @param r The hash inputs.
+     * @param out Array of points into which to write the results.
+     *            Any {@code null} entries will be allocated.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    public default void fromHashAll(final S[] r,
+                                    final P[] out,
+                                    final T scratch)
+        throws IllegalArgumentException {
+        if (r.length != out.length) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        for(int i = 0; i < out.length; i++) {
+            if (out[i] == null) {
+                out[i] = zeroPoint();
+            }
+        }
+
+        Elligator.decodeHashAll(r, out, scratch);
+    }
 }
@@ -55,6 +55,12 @@ public abstract class M221<P extends MontgomeryPoint<ModE221M3, P, T>,
                            T extends ECPoint.Scratchpad<ModE221M3>>
     extends MontgomeryCurveGroup<ModE221M3, P, T>
     implements M221Curve {
+    /**
+     * Bit width of scalars, which is the bit length of the field
+     * modulus.
+     */
+    public static final int SCALAR_BITS = 221;
+
     /**
      * Prime order for the group.  The value is {@code
      * 0x40000000000000000000000000015a08ed730e8a2f77f005042605b}.
@@ -124,4 +130,28 @@ public abstract class M221<P extends MontgomeryPoint<ModE221M3, P, T>,
     public ModE221M3 primeOrder() {
         return PRIME_ORDER.clone();
     }
+
+    /**
+     * Ladders on M-221 always run for the full width of the field.
+     *
+     * @return The value {@code 221}.
+     */
+    @Override
+    public int ladderBits() {
+        return SCALAR_BITS;
+    }
+
+    /**
+     * Clamped scalars for M-221 are multiples of the cofactor
+     * {@code 8} with bit {@code 220} set and all higher bits clear.
+     *
+     * @param bytes The little-endian byte string.
+     * @return The clamped scalar.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     */
+    @Override
+    public ModE221M3 clampScalar(final byte[] bytes)
+        throws IllegalArgumentException {
+        return new ModE221M3(clamp(bytes, SCALAR_BITS, 8));
+    }
 }
@@ -55,6 +55,12 @@ public abstract class M383<P extends ECPoint<ModE383M187, P, T>,
                            T extends ECPoint.Scratchpad<ModE383M187>>
     extends MontgomeryCurveGroup<ModE383M187, P, T>
     implements M383Curve {
+    /**
+     * Bit width of scalars, which is the bit length of the field
+     * modulus.
+     */
+    public static final int SCALAR_BITS = 383;
+
     /**
      * Prime order for the group.  The value is {@code
      * 0x10000000000000000000000000000000000000000000000006c79673ac36ba6e7a32576f7b1b249e46bbc225be9071d7}.
@@ -134,4 +140,28 @@ public abstract class M383<P extends ECPoint<ModE383M187, P, T>,
     public ModE383M187 primeOrder() {
         return PRIME_ORDER.clone();
     }
+
+    /**
+     * Ladders on M-383 always run for the full width of the field.
+     *
+     * @return The value {@code 383}.
+     */
+    @Override
+    public int ladderBits() {
+        return SCALAR_BITS;
+    }
+
+    /**
+     * Clamped scalars for M-383 are multiples of the cofactor
+     * {@code 8} with bit {@code 382} set and all higher bits clear.
+     *
+     * @param bytes The little-endian byte string.
+     * @return The clamped scalar.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     */
+    @Override
+    public ModE383M187 clampScalar(final byte[] bytes)
+        throws IllegalArgumentException {
+        return new ModE383M187(clamp(bytes, SCALAR_BITS, 8));
+    }
 }
@@ -55,6 +55,12 @@ public abstract class M511<P extends ECPoint<ModE511M187, P, T>,
                            T extends ECPoint.Scratchpad<ModE511M187>>
     extends MontgomeryCurveGroup<ModE511M187, P, T>
     implements M511Curve {
+    /**
+     * Bit width of scalars, which is the bit length of the field
+     * modulus.
+     */
+    public static final int SCALAR_BITS = 511;
+
     /**
      * Prime order for the group.  The value is {@code
      * 0x100000000000000000000000000000000000000000000000000000000000000017b5feff30c7f5677ab2aeebd13779a2ac125042a6aa10bfa54c15bab76baf1b}.
@@ -141,4 +147,28 @@ public abstract class M511<P extends ECPoint<ModE511M187, P, T>,
     public ModE511M187 primeOrder() {
         return PRIME_ORDER.clone();
     }
+
+    /**
+     * Ladders on M-511 always run for the full width of the field.
+     *
+     * @return The value {@code 511}.
+     */
+    @Override
+    public int ladderBits() {
+        return SCALAR_BITS;
+    }
+
+    /**
+     * Clamped scalars for M-511 are multiples of the cofactor
+     * {@code 8} with bit {@code 510} set and all higher bits clear.
+     *
+     * @param bytes The little-endian byte string.
+     * @return The clamped scalar.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     */
+    @Override
+    public ModE511M187 clampScalar(final byte[] bytes)
+        throws IllegalArgumentException {
+        return new ModE511M187(clamp(bytes, SCALAR_BITS, 8));
+    }
 }
@@ -74,6 +74,70 @@ public abstract class MontgomeryCurveGroup<S extends PrimeField<S>,
                                      final S y,
                                      final T scratch);
 
+    /**
+     * Get the number of steps to run a fixed-length Montgomery
+     * ladder.  This is the bit width of the scalar field, so every
+     * scalar (including every clamped scalar) fits, and the number
+     * of steps never depends on the scalar's value.
+     *
+     * @return The number of Montgomery ladder steps.
+     * @see ECPoint#scalarBits(PrimeField)
+     */
+    public abstract int ladderBits();
+
+    /**
+     * Create a scalar from a little-endian byte string, clamping it
+     * as in <a href="https://tools.ietf.org/html/rfc7748">RFC
+     * 7748</a>.  The low bits are cleared so that the scalar is a
+     * multiple of the cofactor, all bits at and above the field
+     * width are cleared, and the top bit below the field width is
+     * set, so that every clamped scalar has the same bit length.
+     * <p>
+     * Scalars are elements of the field, so the few clamped values
+     * at or above the modulus are reduced.  For {@code 2^255 - 19},
+     * this affects two of the {@code 2^251} clamped values.
+     *
+     * @param bytes The little-endian byte string.
+     * @return The clamped scalar.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     * @see #clamp(byte[], int, int)
+     */
+    public abstract S clampScalar(final byte[] bytes)
+        throws IllegalArgumentException;
+
+    /**
+     * Clamp a little-endian byte string.  This clears the low bits
+     * below the cofactor, clears all bits at and above {@code nbits},
+     * and sets bit {@code nbits - 1}.  The result is {@code (nbits +
+     * 7) / 8} bytes long.
+     *
+     * @param bytes The little-endian byte string.
+     * @param nbits The bit length of the clamped value.
+     * @param cofactor The cofactor, which must be a power of two.
+     * @return A new array holding the clamped value.
+     * @throws IllegalArgumentException If {@code bytes} is too short.
+     */
+    public static byte[] clamp(final byte[] bytes,
+                               final int nbits,
+                               final int cofactor)
+        throws IllegalArgumentException {
+        final int nbytes = (nbits + 7) / 8;
+
+        if (bytes.length < nbytes) {
+            throw new IllegalArgumentException("Scalar is too short");
+        }
+
+        final byte[] out = new byte[nbytes];
+        final int topbits = nbits - ((nbytes - 1) * 8);
+
+        System.arraycopy(bytes, 0, out, 0, nbytes);
+        out[0] &= (byte)-cofactor;
+        out[nbytes - 1] &= (byte)((1 << topbits) - 1);
+        out[nbytes - 1] |= (byte)(1 << (topbits - 1));
+
+        return out;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -31,6 +31,7 @@
  */
 package net.metricspace.crypto.math.ec.hash;
 
+import net.metricspace.crypto.math.ec.point.BatchInverse;
 import net.metricspace.crypto.math.ec.point.ECPoint;
 import net.metricspace.crypto.math.field.PrimeField;
 
@@ -62,9 +63,122 @@ public interface Elligator<S extends PrimeField<S>,
      * @param code The hash code from which to generate a point.
      * @param scratch The scratchpad to use.
      */
+    public default void decodeHash(final S code,
+                                   final T scratch) {
+        final S inverse = code.clone();
+
+        try {
+            decodeHashDenominator(code, inverse);
+            inverse.inv(scratch);
+            decodeHash(code, inverse, scratch);
+        } finally {
+            inverse.destroy();
+        }
+    }
+
+    /**
+     * Use the hash function from a single scalar value to a point to
+     * set the value of this point, given the inverse of the value
+     * computed by {@link #decodeHashDenominator}.  The resulting
+     * point is not scaled.
+     *
+     * @param code The hash code from which to generate a point.
+     * @param inverse The inverse of the denominator of {@code code}.
+     * @param scratch The scratchpad to use.
+     */
     public void decodeHash(final S code,
+                           final S inverse,
                            final T scratch);
 
+    /**
+     * Get the value by which {@link #decodeHash} divides, which
+     * depends only on the hash code.  Separating this out allows the
+     * divisions for many hash codes to share a single inversion.
+     * The default is {@code 1}, for hashes that need no division.
+     *
+     * @param code The hash code from which to generate a point.
+     * @param out The scalar object to which to write the
+     *            denominator.
+     */
+    public default void decodeHashDenominator(final S code,
+                                              final S out) {
+        out.set(1);
+    }
+
+    /**
+     * Check whether {@link #decodeHash} divides by the value from
+     * {@link #decodeHashDenominator}.  Hashes that never divide can
+     * skip computing and inverting denominators altogether.
+     *
+     * @return {@code true} if {@link #decodeHash} divides.
+     */
+    public default boolean decodeHashDivides() {
+        return false;
+    }
+
+    /**
+     * Use the hash function on every value in an array to set the
+     * values of an array of points.  All divisions share a single
+     * inversion, computed with {@link BatchInverse}.  For hashes that
+     * do not divide, no denominators are computed or inverted.  The
+     * resulting points are not scaled.
+     *
+     * @param <S> Scalar type.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param codes The hash codes from which to generate points.
+     * @param points The points to set.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>,
+                   P extends Elligator<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void decodeHashAll(final S[] codes,
+                           final P[] points,
+                           final T scratch)
+        throws IllegalArgumentException {
+        final int n = codes.length;
+
+        if (points.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        if (n == 0) {
+            return;
+        }
+
+        if (!points[0].decodeHashDivides()) {
+            for(int i = 0; i < n; i++) {
+                points[i].decodeHash(codes[i], scratch);
+            }
+
+            return;
+        }
+
+        final S[] inverses = (S[])new PrimeField[n];
+
+        try {
+            for(int i = 0; i < n; i++) {
+                inverses[i] = codes[i].clone();
+                points[i].decodeHashDenominator(codes[i], inverses[i]);
+            }
+
+            BatchInverse.inv(inverses, scratch);
+
+            for(int i = 0; i < n; i++) {
+                points[i].decodeHash(codes[i], inverses[i], scratch);
+            }
+        } finally {
+            for(int i = 0; i < n; i++) {
+                if (inverses[i] != null) {
+                    inverses[i].destroy();
+                }
+            }
+        }
+    }
+
     /**
      * Use the hash function from a single scalar value to a point to
      * set the value of this point.
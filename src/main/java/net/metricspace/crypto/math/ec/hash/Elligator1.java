@@ -141,11 +141,33 @@ public interface Elligator1<S extends PrimeField<S>,
      */
     public S elligatorC();
 
+    /**
+     * Elligator 1 divides by {@code 1 + t}.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public default boolean decodeHashDivides() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default void decodeHashDenominator(final S t,
+                                              final S out) {
+        /* F = 1 + t */
+        out.set(t);
+        out.add(1);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public default void decodeHash(final S t,
+                                   final S inverse,
                                    final T scratch) {
         /* Original formula from https://eprint.iacr.org/2013/325.pdf
          *
@@ -171,11 +193,11 @@ public interface Elligator1<S extends PrimeField<S>,
          *
          * Manual common subexpression elimination produces the following:
          *
-         * F = 1 + t
-         * U = (1 - t) / F
+         * F = 1 + t, given as inverse = 1 / F
+         * U = (1 - t) * inverse
          * U2 = U^2
          * C = elligatorC()
-         * H = U2 + (1 / C^2)
+         * H = (U2 * C^2) + 1
          * l2 = H.legendre
          * R = elligatorR
          * G = (R^2 - 2) * U2
@@ -191,9 +213,15 @@ public interface Elligator1<S extends PrimeField<S>,
          * L = K + J
          * y = (K - J) / L
          *
+         * H differs from (u^2 + 1 / c^2) by the nonzero square
+         * factor C^2, so it has the same Legendre symbol, and needs
+         * no inversion.  The divisions in x and y are left to the
+         * projective coordinates.  If Y == 0, then l1 == 0, so X == 0
+         * and the numerator of x is also 0; in this case, the
+         * denominator of x is set to 1.
+         *
          * Manual register allocation produces the following assignments:
          *
-         * r0 = F
          * r1 = U
          * r0.1 = U2
          * r2 = C
@@ -203,6 +231,7 @@ public interface Elligator1<S extends PrimeField<S>,
          * r0.2 = U4
          * r0.3 = V
          * r4.1 = Y
+         * r4.2 = denominator of x
          * r1.1 = X
          * r0.4 = I
          * r2.1 = x
@@ -213,11 +242,10 @@ public interface Elligator1<S extends PrimeField<S>,
          *
          * Final formula:
          *
-         * r0 = 1 + t
-         * r1 = (1 - t) / r0
+         * r1 = (1 - t) * inverse
          * r0.1 = r1^2
          * r2 = elligatorC()
-         * r3 = r0.1 + (1 / r2^2)
+         * r3 = (r0.1 * r2^2) + 1
          * l2 = r3.legendre
          * r3.1 = elligatorR
          * r4 = (r3.1^2 - 2) * r0.1
@@ -227,13 +255,14 @@ public interface Elligator1<S extends PrimeField<S>,
          * r4.1 = (l1 * r0.3).sqrt * l1 * l2
          * r1.1 = l1 * r1
          * r0.4 = 1 + r1.1
-         * r2.1 = (r2 - 1) * elligatorS() * r1.1 * r0.4 / r4.1
+         * r2.1 = (r2 - 1) * elligatorS() * r1.1 * r0.4
+         * r4.2 = r4.1 + r4.1.isZero
          * r0.5 = r0.4^2
          * r3.2 = r3.1 * r1.1
          * r1.2 = r3.2 + r0.5
-         * r3.3 = (r3.2 - r0.5) / r1.2
-         * x = r2.1
-         * y = r3.3
+         * r3.3 = r3.2 - r0.5
+         * x = r2.1 / r4.2
+         * y = r3.3 / r1.2
          */
 
         final S r0 = scratch.r0;
@@ -242,34 +271,30 @@ public interface Elligator1<S extends PrimeField<S>,
         final S r3 = scratch.r3;
         final S r4 = scratch.r4;
 
-        /* r0 = 1 + t */
-        r0.set(t);
-        r0.add(1);
-
-        /* r1 = (1 - t) / r0 */
+        /* r1 = (1 - t) * inverse */
         r1.set(t);
         r1.sub(1);
         r1.neg();
-        r1.div(r0, scratch);
+        r1.mul(inverse);
 
         /* r0.1 = r1^2 */
         r0.set(r1);
         r0.square();
 
         /* r2 = elligatorC() */
-        r2.set(elligatorC());
+        r2.set(constants().elligatorC);
 
-        /* r3 = r0.1 + (1 / r2^2) */
+        /* r3 = (r0.1 * r2^2) + 1 */
         r3.set(r2);
         r3.square();
-        r3.inv(scratch);
-        r3.add(r0);
+        r3.mul(r0);
+        r3.add(1);
 
         /* l2 = r3.legendre */
         final int l2 = r3.legendre(scratch);
 
         /* r3.1 = elligatorR */
-        r3.set(elligatorR());
+        r3.set(constants().elligatorR);
 
         /* r4 = (r3.1^2 - 2) * r0.1 */
         r4.set(r3);
@@ -301,12 +326,14 @@ public interface Elligator1<S extends PrimeField<S>,
         r0.set(r1);
         r0.add(1);
 
-        /* r2.1 = (r2 - 1) * elligatorS() * r1.1 * r0.4 / r4.1 */
+        /* r2.1 = (r2 - 1) * elligatorS() * r1.1 * r0.4 */
         r2.sub(1);
-        r2.mul(elligatorS());
+        r2.mul(constants().elligatorS);
         r2.mul(r1);
         r2.mul(r0);
-        r2.div(r4, scratch);
+
+        /* r4.2 = r4.1 + r4.1.isZero */
+        r4.add(r4.isZero(scratch));
 
         /* r0.5 = r0.4^2 */
         r0.square();
@@ -318,13 +345,12 @@ public interface Elligator1<S extends PrimeField<S>,
         r1.set(r3);
         r1.add(r0);
 
-        /* r3.3 = (r3.2 - r0.5) / r1.2 */
+        /* r3.3 = r3.2 - r0.5 */
         r3.sub(r0);
-        r3.div(r1, scratch);
 
-        /* x = r2.1 */
-        /* y = r3.3 */
-        setEdwards(r2, r3);
+        /* x = r2.1 / r4.2 */
+        /* y = r3.3 / r1.2 */
+        setEdwards(r2, r4, r3, r1);
     }
 
     /**
@@ -420,7 +446,7 @@ public interface Elligator1<S extends PrimeField<S>,
         r1.div(r0, scratch);
 
         /* r0.1 = 1 + r1 * elligatorR() */
-        r0.set(elligatorR());
+        r0.set(constants().elligatorR);
         r0.mul(r1);
         r0.add(1);
 
@@ -432,7 +458,7 @@ public interface Elligator1<S extends PrimeField<S>,
         r1.sub(r0);
 
         /* r0.2 = elligatorC() */
-        r0.set(elligatorC());
+        r0.set(constants().elligatorC);
 
         /* r2 = r0.2 - 1 */
         r2.set(r0);
@@ -453,7 +479,7 @@ public interface Elligator1<S extends PrimeField<S>,
         r0.mul(edwardsXScaledRef());
         r0.mul(r3);
         r0.mul(r1);
-        r0.mul(elligatorS());
+        r0.mul(constants().elligatorS);
         r0.mul(r2);
 
         /* l1 = r0.3.legendre */
@@ -534,6 +560,8 @@ public interface Elligator1<S extends PrimeField<S>,
          * if r2.1 == -2 then x == r4.1
          */
 
+        scale();
+
         final S r0 = scratch.r0;
         final S r1 = scratch.r1;
         final S r2 = scratch.r2;
@@ -543,7 +571,7 @@ public interface Elligator1<S extends PrimeField<S>,
         r4.set(edwardsYScaledRef());
 
         /* r0 = elligatorR */
-        r0.set(elligatorR());
+        r0.set(constants().elligatorR);
 
         /* r1 = y + 1 */
         r1.set(r4);
@@ -570,7 +598,7 @@ public interface Elligator1<S extends PrimeField<S>,
         r3.sub(1);
 
         /* r4 = elligatorC */
-        r4.set(elligatorC());
+        r4.set(constants().elligatorC);
 
         /* l1 = r4.legendre */
         final int l1 = r4.legendre(scratch);
@@ -578,7 +606,7 @@ public interface Elligator1<S extends PrimeField<S>,
         /* r4.1 = 2 * s * (r4 - 1) * l1 / r0 */
         r4.sub(1);
         r4.mul(2);
-        r4.mul(elligatorS());
+        r4.mul(constants().elligatorS);
         r4.mul(l1);
         r4.div(r0, scratch);
 
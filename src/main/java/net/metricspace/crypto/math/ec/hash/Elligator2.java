@@ -62,11 +62,35 @@ public interface Elligator2<S extends PrimeField<S>,
     extends Elligator<S, P, T>,
             MontgomeryPoint<S, P, T>,
             MontgomeryCurve<S>  {
+    /**
+     * Elligator 2 divides by {@code 1 + 2 * r^2}.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public default boolean decodeHashDivides() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default void decodeHashDenominator(final S r,
+                                              final S out) {
+        /* C = 1 + 2 * r^2 */
+        out.set(r);
+        out.square();
+        out.mul(2);
+        out.add(1);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public default void decodeHash(final S r,
+                                   final S inverse,
                                    final T scratch) {
         /* Formula from https://eprint.iacr.org/2013/325.pdf
          *
@@ -87,8 +111,8 @@ public interface Elligator2<S extends PrimeField<S>,
          * Manual common subexpression elimination produces the following:
          *
          * A = montgomeryA
-         * C = 1 + 2 * r^2
-         * V = -A / C
+         * C = 1 + 2 * r^2, given as inverse = 1 / C
+         * V = -A * inverse
          * D = A * V
          * F = (V^2 + D + 1) * V
          * l1 = F.legendre
@@ -101,7 +125,6 @@ public interface Elligator2<S extends PrimeField<S>,
          * Manual register allocation produces the following assignments:
          *
          * r0 = A
-         * r1 = C
          * r2 = V
          * r1.1 = D
          * r3 = F
@@ -114,8 +137,7 @@ public interface Elligator2<S extends PrimeField<S>,
          * Final formula:
          *
          * r0 = montgomeryA
-         * r1 = 1 + 2 * r^2
-         * r2 = -r0 / r1
+         * r2 = -r0 * inverse
          * r1.1 = r0 * r2
          * r3 = (r2^2 + r1.1 + 1) * r2
          * l1 = r3.legendre
@@ -126,6 +148,9 @@ public interface Elligator2<S extends PrimeField<S>,
          * r1.2 = -l1 * (r1.1 * r3.1).sqrt
          * x = r3.1
          * y = r1.2
+         *
+         * The point is set from the projective Montgomery coordinates
+         * (x, y, 1), which avoids any inversions.
          */
 
         final S r0 = scratch.r0;
@@ -134,18 +159,12 @@ public interface Elligator2<S extends PrimeField<S>,
         final S r3 = scratch.r3;
 
         /* r0 = montgomeryA */
-        r0.set(montgomeryA());
+        r0.set(constants().montgomeryA);
 
-        /* r1 = 1 + 2 * r^2 */
-        r1.set(r);
-        r1.square();
-        r1.mul(2);
-        r1.add(1);
-
-        /* r2 = -r0 / r1 */
+        /* r2 = -r0 * inverse */
         r2.set(r0);
         r2.neg();
-        r2.div(r1, scratch);
+        r2.mul(inverse);
 
         /* r1.1 = r0 * r2 */
         r1.set(r0);
@@ -187,7 +206,8 @@ public interface Elligator2<S extends PrimeField<S>,
 
         /* x = r3.1 */
         /* y = r1.2 */
-        setMontgomery(r3, r1);
+        r2.set(1);
+        setMontgomery(r3, r1, r2, scratch);
     }
 
     /**
@@ -250,7 +270,7 @@ public interface Elligator2<S extends PrimeField<S>,
 
         /* r0 = -(x + A) */
         r0.set(x);
-        r0.add(montgomeryA());
+        r0.add(constants().montgomeryA);
         r0.neg();
 
         /* r1 = r0 * 2 */
@@ -343,19 +363,21 @@ public interface Elligator2<S extends PrimeField<S>,
          * !b0 && b1 && l1 == 1 && b2
          */
 
+        scale();
+
         final S r0 = scratch.r0;
         final S r1 = scratch.r1;
         final S r3 = scratch.r3;
         final S r4 = scratch.r4;
 
         /* r3 = montgomeryX */
-        r3.set(montgomeryXScaledRef());
+        r3.set(montgomeryXScaledRef(scratch));
 
         /* r4 = montgomeryY */
-        r4.set(montgomeryYScaledRef());
+        r4.set(montgomeryYScaledRef(scratch));
 
         /* r0 = montgomeryA */
-        r0.set(montgomeryA());
+        r0.set(constants().montgomeryA);
 
         /* r1 = -r0 */
         r1.set(r0);
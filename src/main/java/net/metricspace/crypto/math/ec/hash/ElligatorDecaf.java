@@ -172,10 +172,12 @@ public interface ElligatorDecaf<S extends PrimeField<S>,
          * r3.1 = (-c * r2.1 * r0.1 * ((1 - (2 * d)) * r3)^2) - 1
          * r0.2 = r1.4^2
          * r2.2 = 1 + r0.2
-         * r1.5 = (2 * r1.4) / r2.2
-         * r0.3 = -(1 - r0.2) / r3.1
-         * X = r1.5
-         * Y = r0.3
+         * r1.5 = 2 * r1.4
+         * r0.3 = r0.2 - 1
+         * X = r1.5 / r2.2
+         * Y = r0.3 / r3.1
+         *
+         * The divisions are left to the projective coordinates.
          */
 
         /* n = nonresidue */
@@ -257,17 +259,15 @@ public interface ElligatorDecaf<S extends PrimeField<S>,
         r2.set(r0);
         r2.add(1);
 
-        /* r1.5 = (2 * r1.4) / r2.2 */
+        /* r1.5 = 2 * r1.4 */
         r1.mul(2);
-        r1.div(r2);
 
-        /* r0.3 = -(1 - r0.2) / r3.1 */
+        /* r0.3 = r0.2 - 1 */
         r0.sub(1);
-        r0.div(r3);
 
-        /* X = r1.5 */
-        /* Y = r0.3 */
-        setEdwards(r1, r0);
+        /* X = r1.5 / r2.2 */
+        /* Y = r0.3 / r3.1 */
+        setEdwards(r1, r2, r0, r3);
 
     }
 
@@ -388,7 +388,7 @@ public interface ElligatorDecaf<S extends PrimeField<S>,
         r2.div(r0, scratch);
 
         /* r2.3 = sqrt (r2.2 / n) */
-        r2.div(nonresidue());
+        r2.mul(constants().nonresidueInv);
         r2.sqrt(scratch);
 
         return r2.clone();
@@ -477,8 +477,21 @@ public interface ElligatorDecaf<S extends PrimeField<S>,
         r2.div(r0, scratch);
 
         /* r2.3 = r2.2 / n */
-        r2.div(nonresidue(), scratch);
+        r2.mul(constants().nonresidueInv);
 
         return r2.legendre(scratch) == 1;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Decaf Elligator needs no division, so {@code inverse} is
+     * ignored.
+     */
+    @Override
+    public default void decodeHash(final S r,
+                                   final S inverse,
+                                   final T scratch) {
+        decodeHash(r, scratch);
+    }
 }
@@ -0,0 +1,374 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.hash;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.security.auth.Destroyable;
+
+import net.metricspace.crypto.math.ec.group.ElligatorGroup;
+import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Background generator for key pairs whose public point can be
+ * encoded with Elligator.  Roughly half of all points cannot be
+ * encoded, so generating such a key pair requires a rejection loop.
+ * This runs the loop on a pool of worker threads, ahead of demand,
+ * and keeps a bounded queue of finished key pairs.
+ * <p>
+ * Each worker generates candidates in batches: the public points of
+ * a batch are scaled together with {@link ECPoint#scaleAll}, which
+ * shares a single inversion, and then checked with {@link
+ * Elligator#canEncode}.
+ * <p>
+ * If a worker fails, for example because the scalar source throws,
+ * the failure is recorded, the workers stop, and every subsequent
+ * call to {@link #take} or {@link #poll} throws an {@link
+ * IllegalStateException} whose cause is the original exception.
+ * Consumers waiting for a key pair when the generator fails or is
+ * closed are woken up.
+ *
+ * @param <S> Scalar type.
+ * @param <P> Point type.
+ * @param <T> Scratchpad type.
+ */
+public final class ElligatorKeyGenerator<S extends PrimeField<S>,
+                                         P extends Elligator<S, P, T>,
+                                         T extends MontgomeryLadder.Scratchpad<S>>
+    implements AutoCloseable {
+    /**
+     * Default number of candidates generated by a worker at once.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /**
+     * Interval, in milliseconds, at which waiting consumers check
+     * whether the generator has been closed or has failed.
+     */
+    private static final long WAKEUP_MILLIS = 50;
+
+    /**
+     * A key pair whose public point can be encoded with Elligator.
+     *
+     * @param <S> Scalar type.
+     * @param <P> Point type.
+     */
+    public static final class KeyPair<S extends PrimeField<S>,
+                                      P extends ECPoint<S, P, ?>>
+        implements Destroyable {
+        /**
+         * The secret scalar.
+         */
+        public final S scalar;
+
+        /**
+         * The public point, equal to {@code scalar} times the base
+         * point.
+         */
+        public final P point;
+
+        /**
+         * The Elligator representative of {@code point}.
+         */
+        public final S representative;
+
+        private KeyPair(final S scalar,
+                        final P point,
+                        final S representative) {
+            this.scalar = scalar;
+            this.point = point;
+            this.representative = representative;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            scalar.destroy();
+            point.destroy();
+            representative.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return scalar.isDestroyed() && point.isDestroyed() &&
+                   representative.isDestroyed();
+        }
+    }
+
+    private final ElligatorGroup<S, P, T> group;
+    private final Supplier<S> scalars;
+    private final int batchSize;
+    private final BlockingQueue<KeyPair<S, P>> queue;
+    private final ExecutorService workers;
+    private final AtomicReference<RuntimeException> failure;
+    private volatile boolean closed;
+
+    /**
+     * Create a generator and start its worker threads.
+     *
+     * @param group The group in which to generate key pairs.
+     * @param scalars Source of random secret scalars.  This will be
+     *                called from several threads at once, and must
+     *                be thread-safe.
+     * @param nthreads The number of worker threads.
+     * @param capacity The maximum number of key pairs to generate in
+     *                 advance.
+     * @param batchSize The number of candidates each worker generates
+     *                  at once.
+     * @throws IllegalArgumentException If any of the sizes are not
+     *                                  positive.
+     */
+    public ElligatorKeyGenerator(final ElligatorGroup<S, P, T> group,
+                                 final Supplier<S> scalars,
+                                 final int nthreads,
+                                 final int capacity,
+                                 final int batchSize)
+        throws IllegalArgumentException {
+        if (nthreads <= 0 || capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Sizes must be positive");
+        }
+
+        this.group = group;
+        this.scalars = scalars;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = Executors.newFixedThreadPool(nthreads,
+                                                    new DaemonFactory());
+        this.failure = new AtomicReference<>();
+        this.closed = false;
+
+        for(int i = 0; i < nthreads; i++) {
+            workers.execute(this::generate);
+        }
+    }
+
+    /**
+     * Create a generator with one worker thread per processor and
+     * the default batch size.
+     *
+     * @param group The group in which to generate key pairs.
+     * @param scalars Source of random secret scalars.  This will be
+     *                called from several threads at once, and must
+     *                be thread-safe.
+     * @param capacity The maximum number of key pairs to generate in
+     *                 advance.
+     * @throws IllegalArgumentException If {@code capacity} is not
+     *                                  positive.
+     */
+    public ElligatorKeyGenerator(final ElligatorGroup<S, P, T> group,
+                                 final Supplier<S> scalars,
+                                 final int capacity)
+        throws IllegalArgumentException {
+        this(group, scalars, Runtime.getRuntime().availableProcessors(),
+             capacity, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Check that the generator is still usable.
+     *
+     * @throws IllegalStateException If the generator has been closed,
+     *                               or if a worker has failed.
+     */
+    private void checkState() throws IllegalStateException {
+        final RuntimeException e = failure.get();
+
+        if (e != null) {
+            throw new IllegalStateException("Key pair generation failed", e);
+        }
+
+        if (closed) {
+            throw new IllegalStateException("Generator is closed");
+        }
+    }
+
+    /**
+     * Get a key pair, waiting for one to be generated if necessary.
+     *
+     * @return A key pair whose public point can be encoded.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IllegalStateException If the generator has been closed,
+     *                               or if a worker has failed, either
+     *                               before or while waiting.
+     */
+    public KeyPair<S, P> take()
+        throws InterruptedException, IllegalStateException {
+        for(;;) {
+            checkState();
+
+            final KeyPair<S, P> pair =
+                queue.poll(WAKEUP_MILLIS, TimeUnit.MILLISECONDS);
+
+            if (pair != null) {
+                return pair;
+            }
+        }
+    }
+
+    /**
+     * Get a key pair, waiting up to a timeout for one to be
+     * generated if necessary.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of {@code timeout}.
+     * @return A key pair whose public point can be encoded, or {@code
+     *         null} if the timeout elapsed.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IllegalStateException If the generator has been closed,
+     *                               or if a worker has failed, either
+     *                               before or while waiting.
+     */
+    public KeyPair<S, P> poll(final long timeout,
+                              final TimeUnit unit)
+        throws InterruptedException, IllegalStateException {
+        final long wakeup = TimeUnit.MILLISECONDS.toNanos(WAKEUP_MILLIS);
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for(;;) {
+            checkState();
+
+            final long remaining = deadline - System.nanoTime();
+            final KeyPair<S, P> pair =
+                queue.poll(Math.max(0, Math.min(remaining, wakeup)),
+                           TimeUnit.NANOSECONDS);
+
+            if (pair != null || remaining <= wakeup) {
+                return pair;
+            }
+        }
+    }
+
+    /**
+     * Stop the worker threads, and destroy any key pairs that have
+     * been generated but not taken.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.shutdownNow();
+
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch(final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for(KeyPair<S, P> pair = queue.poll(); pair != null;
+            pair = queue.poll()) {
+            pair.destroy();
+        }
+    }
+
+    /**
+     * Worker loop.  Candidates that are rejected, or left over when
+     * the worker is interrupted or fails, are destroyed.  A failure
+     * is recorded, so that it can be reported to consumers, and stops
+     * the other workers.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void generate() {
+        final S[] candidates = (S[])new PrimeField[batchSize];
+        final P[] points = (P[])new Elligator[batchSize];
+
+        try(final T scratch = group.scratchpad()) {
+            while (!closed && failure.get() == null) {
+                for(int i = 0; i < batchSize; i++) {
+                    candidates[i] = scalars.get();
+                    points[i] = group.mulBase(candidates[i], scratch);
+                }
+
+                ECPoint.scaleAll(points, scratch);
+
+                for(int i = 0; i < batchSize; i++) {
+                    if (points[i].canEncode(scratch)) {
+                        final S representative = points[i].encodeHash(scratch);
+
+                        queue.put(new KeyPair<>(candidates[i], points[i],
+                                                representative));
+                    } else {
+                        candidates[i].destroy();
+                        points[i].destroy();
+                    }
+
+                    candidates[i] = null;
+                    points[i] = null;
+                }
+            }
+        } catch(final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(final RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            for(int i = 0; i < batchSize; i++) {
+                if (candidates[i] != null) {
+                    candidates[i].destroy();
+                }
+
+                if (points[i] != null) {
+                    points[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Thread factory creating daemon threads, so that an unclosed
+     * generator does not prevent the JVM from exiting.
+     */
+    private static final class DaemonFactory implements ThreadFactory {
+        private final ThreadFactory base = Executors.defaultThreadFactory();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = base.newThread(r);
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
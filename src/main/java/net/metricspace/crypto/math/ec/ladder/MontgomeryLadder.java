@@ -31,9 +31,12 @@
  */
 package net.metricspace.crypto.math.ec.ladder;
 
+import java.util.Arrays;
 import javax.security.auth.Destroyable;
 
+import net.metricspace.crypto.math.ec.curve.CurveConstants;
 import net.metricspace.crypto.math.ec.curve.MontgomeryCurve;
+import net.metricspace.crypto.math.ec.point.BatchInverse;
 import net.metricspace.crypto.math.ec.point.ECPoint;
 import net.metricspace.crypto.math.ec.point.MontgomeryPoint;
 import net.metricspace.crypto.math.field.PrimeField;
@@ -413,17 +416,75 @@ public interface MontgomeryLadder<S extends PrimeField<S>,
         cswap(scalar.bit(0), xn, zn, xnp1, znp1, scratch);
     }
 
+    /**
+     * Fixed-length single-coordinate Montgomery ladder.  This is the
+     * same as {@link #ladderX(PrimeField, PrimeField, PrimeField,
+     * PrimeField, PrimeField, PrimeField, PrimeField, PrimeField,
+     * MontgomeryLadder.Scratchpad)}, except that it always runs
+     * exactly {@code nbits} steps, regardless of the leading zeros in
+     * {@code scalar}.
+     *
+     * @param <S> The scalar type.
+     * @param <T> The scratchpad type.
+     * @param x The initial x-coordinate.
+     * @param z The initial z-coordinate.
+     * @param xn Initially {@code 1}, replaced with the {@code n}th
+     *           {@code x} coordinate.
+     * @param zn Initially {@code 0}, replaced with the {@code n}th
+     *           {@code z} coordinate.
+     * @param xnp1 Initially {@code x}, replaced with the {@code n +
+     *             1}th {@code x} coordinate.
+     * @param znp1 Initially {@code z}, replaced with the {@code n +
+     *             1}th {@code z} coordinate.
+     * @param scalar The scalar coefficient.  This must be less than
+     *               {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
+     * @param curveparam The value {@code (a - 2) / 4}, where {@code a} is
+     *                   from the Montgomery-form equation.
+     * @param scratch The scratchpad.
+     * @see ECPoint#scalarBits(PrimeField)
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void ladderX(final S x,
+                     final S z,
+                     final S xn,
+                     final S zn,
+                     final S xnp1,
+                     final S znp1,
+                     final S scalar,
+                     final int nbits,
+                     final S curveparam,
+                     final T scratch) {
+        long prev = 0;
+
+        for(int i = nbits - 1; i >= 0; i--) {
+            final long bit = scalar.bit(i);
+
+            cswap(bit, prev, xn, zn, xnp1, znp1, scratch);
+            ladderStepX(x, z, xn, zn, xnp1, znp1, curveparam, scratch);
+            prev = bit;
+        }
+
+        cswap(prev, xn, zn, xnp1, znp1, scratch);
+    }
+
     /**
      * Single-coordinate Montgomery ladder.  This computes the {@code
      * x} coordinate of scalar multiplication of a point.  This form
      * only takes the {@code x} coordinate (along with a
      * projective-style {@code z} coordinate, which can be {@code 1}.
+     * The ladder always runs {@code nbits} steps.
      *
+     * @param <S> The scalar type.
+     * @param <T> The scratchpad type.
      * @param x The initial {@code x}-coordinate, replaced with the
-    *           {@code n}th {@code x} coordinate.
+     *          {@code n}th {@code x} coordinate.
      * @param z The initial {@code z}-coordinate, replaced with the
-    *           {@code n}th {@code z} coordinate.
-     * @param scalar The scalar coefficient.
+     *          {@code n}th {@code z} coordinate.
+     * @param scalar The scalar coefficient.  This must be less than
+     *               {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
      * @param curveparam The value {@code (a - 2) / 4}, where {@code a} is
      *                   from the Montgomery-form equation.
      * @param scratch The scratchpad.
@@ -433,22 +494,490 @@ public interface MontgomeryLadder<S extends PrimeField<S>,
         void ladderX(final S x,
                      final S z,
                      final S scalar,
+                     final int nbits,
                      final S curveparam,
                      final T scratch) {
         try(final S xn = x.clone();
             final S zn = z.clone();
             final S xnp1 = x.clone();
             final S znp1 = z.clone()) {
-            final int len = scalar.numBits();
-
             xn.set(1);
             zn.set(0);
-            ladderX(x, z, xn, zn, xnp1, znp1, scalar, curveparam, scratch);
+            ladderX(x, z, xn, zn, xnp1, znp1, scalar, nbits,
+                    curveparam, scratch);
             x.set(xn);
             z.set(zn);
         }
     }
 
+    /**
+     * Single-coordinate Montgomery ladder.  This computes the {@code
+     * x} coordinate of scalar multiplication of a point.  This form
+     * only takes the {@code x} coordinate (along with a
+     * projective-style {@code z} coordinate, which can be {@code 1}.
+     * The number of ladder steps is fixed by the width of the scalar
+     * field, not by the value of {@code scalar}.
+     *
+     * @param x The initial {@code x}-coordinate, replaced with the
+    *           {@code n}th {@code x} coordinate.
+     * @param z The initial {@code z}-coordinate, replaced with the
+    *           {@code n}th {@code z} coordinate.
+     * @param scalar The scalar coefficient.
+     * @param curveparam The value {@code (a - 2) / 4}, where {@code a} is
+     *                   from the Montgomery-form equation.
+     * @param scratch The scratchpad.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void ladderX(final S x,
+                     final S z,
+                     final S scalar,
+                     final S curveparam,
+                     final T scratch) {
+        ladderX(x, z, scalar, ECPoint.scalarBits(scalar), curveparam,
+                scratch);
+    }
+
+    /**
+     * Recode a scalar as an array of its low {@code nbits} bits, for
+     * use with {@link #ladderXRecoded}.  The caller should clear the
+     * result when it is no longer needed.
+     * <p>
+     * The bits above {@code nbits} are checked without branching on
+     * them individually, so only the fact that a scalar is too large
+     * is revealed.
+     *
+     * @param <S> The scalar type.
+     * @param scalar The scalar to recode.
+     * @param nbits The number of bits.  This must be positive and no
+     *              greater than the width of the scalar field.
+     * @return An array whose {@code i}th element is bit {@code i} of
+     *         {@code scalar}.
+     * @throws IllegalArgumentException If {@code nbits} is out of
+     *                                  range, or if {@code scalar} is
+     *                                  not less than {@code 2^nbits}.
+     * @see ECPoint#scalarBits(PrimeField)
+     */
+    public static <S extends PrimeField<S>> long[] recode(final S scalar,
+                                                         final int nbits)
+        throws IllegalArgumentException {
+        final int width = ECPoint.scalarBits(scalar);
+
+        if (nbits <= 0 || nbits > width) {
+            throw new IllegalArgumentException("Bad number of ladder steps");
+        }
+
+        final long[] bits = new long[nbits];
+        long high = 0;
+
+        for(int i = 0; i < nbits; i++) {
+            bits[i] = scalar.bit(i);
+        }
+
+        for(int i = nbits; i < width; i++) {
+            high |= scalar.bit(i);
+        }
+
+        if (high != 0) {
+            Arrays.fill(bits, 0);
+
+            throw new IllegalArgumentException("Scalar is too large");
+        }
+
+        return bits;
+    }
+
+    /**
+     * Multi-lane single-coordinate Montgomery ladder.  This runs
+     * several independent ladders in lockstep, sharing one
+     * scratchpad.  Every lane always runs exactly {@code nbits}
+     * steps, regardless of the scalar values, so the lanes stay in
+     * step, and neither the number of steps nor the swap pattern
+     * reveals anything about the scalars.
+     * <p>
+     * The lanes share no arithmetic, so this costs the same as
+     * running each ladder separately.  It leaves every lane in
+     * projective form, which lets {@link #mulXBatch} share a single
+     * inversion across the whole batch.
+     *
+     * @param <S> The scalar type.
+     * @param <T> The scratchpad type.
+     * @param xs The initial {@code x}-coordinates, replaced with the
+     *           {@code x} coordinates of the results.
+     * @param zs The initial {@code z}-coordinates, replaced with the
+     *           {@code z} coordinates of the results.
+     * @param scalars The scalar coefficients.  These must be less
+     *                than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.  This should be the
+     *              bit length of the group order.
+     * @param curveparam The value {@code (a - 2) / 4}, where {@code a} is
+     *                   from the Montgomery-form equation.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the array lengths differ,
+     *                                  or if {@code nbits} is rejected
+     *                                  by {@link #recode}.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void ladderXBatch(final S[] xs,
+                          final S[] zs,
+                          final S[] scalars,
+                          final int nbits,
+                          final S curveparam,
+                          final T scratch)
+        throws IllegalArgumentException {
+        final int nlanes = xs.length;
+
+        if (zs.length != nlanes || scalars.length != nlanes) {
+            throw new IllegalArgumentException("Mismatched lane counts");
+        }
+
+        final long[][] bits = new long[nlanes][];
+
+        try {
+            for(int j = 0; j < nlanes; j++) {
+                bits[j] = recode(scalars[j], nbits);
+            }
+
+            ladderXRecoded(xs, zs, bits, curveparam, scratch);
+        } finally {
+            for(int j = 0; j < nlanes; j++) {
+                if (bits[j] != null) {
+                    Arrays.fill(bits[j], 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Multi-lane single-coordinate Montgomery ladder on recoded
+     * scalars.  This is the same as {@link #ladderXBatch}, except
+     * that the scalars have already been recoded with {@link
+     * #recode}.  Lanes may share the same recoded scalar, so that a
+     * scalar multiplying many points is only recoded once.
+     *
+     * @param <S> The scalar type.
+     * @param <T> The scratchpad type.
+     * @param xs The initial {@code x}-coordinates, replaced with the
+     *           {@code x} coordinates of the results.
+     * @param zs The initial {@code z}-coordinates, replaced with the
+     *           {@code z} coordinates of the results.
+     * @param bits The recoded scalar coefficients.  These must all
+     *             have the same length, which is the number of ladder
+     *             steps.
+     * @param curveparam The value {@code (a - 2) / 4}, where {@code a} is
+     *                   from the Montgomery-form equation.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void ladderXRecoded(final S[] xs,
+                            final S[] zs,
+                            final long[][] bits,
+                            final S curveparam,
+                            final T scratch)
+        throws IllegalArgumentException {
+        final int nlanes = xs.length;
+
+        if (zs.length != nlanes || bits.length != nlanes) {
+            throw new IllegalArgumentException("Mismatched lane counts");
+        }
+
+        if (nlanes == 0) {
+            return;
+        }
+
+        final int nbits = bits[0].length;
+
+        for(int j = 1; j < nlanes; j++) {
+            if (bits[j].length != nbits) {
+                throw new IllegalArgumentException("Mismatched scalar sizes");
+            }
+        }
+
+        final S[] xn = xs.clone();
+        final S[] zn = xs.clone();
+        final S[] xnp1 = xs.clone();
+        final S[] znp1 = xs.clone();
+        final long[] prev = new long[nlanes];
+
+        /* Clear the copied references, so that cleanup never
+         * destroys the caller's coordinates.
+         */
+        Arrays.fill(xn, null);
+        Arrays.fill(zn, null);
+        Arrays.fill(xnp1, null);
+        Arrays.fill(znp1, null);
+
+        try {
+            for(int j = 0; j < nlanes; j++) {
+                xn[j] = xs[j].clone();
+                zn[j] = xs[j].clone();
+                xnp1[j] = xs[j].clone();
+                znp1[j] = zs[j].clone();
+                xn[j].set(1);
+                zn[j].set(0);
+            }
+
+            for(int i = nbits - 1; i >= 0; i--) {
+                for(int j = 0; j < nlanes; j++) {
+                    final long bit = bits[j][i];
+
+                    cswap(bit, prev[j], xn[j], zn[j], xnp1[j], znp1[j],
+                          scratch);
+                    ladderStepX(xs[j], zs[j], xn[j], zn[j], xnp1[j],
+                                znp1[j], curveparam, scratch);
+                    prev[j] = bit;
+                }
+            }
+
+            for(int j = 0; j < nlanes; j++) {
+                cswap(prev[j], xn[j], zn[j], xnp1[j], znp1[j], scratch);
+                xs[j].set(xn[j]);
+                zs[j].set(zn[j]);
+            }
+        } finally {
+            Arrays.fill(prev, 0);
+
+            for(int j = 0; j < nlanes; j++) {
+                if (xn[j] != null) {
+                    xn[j].destroy();
+                }
+
+                if (zn[j] != null) {
+                    zn[j].destroy();
+                }
+
+                if (xnp1[j] != null) {
+                    xnp1[j].destroy();
+                }
+
+                if (znp1[j] != null) {
+                    znp1[j].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinates resulting from
+     * multiplying each of a batch of points by the corresponding
+     * scalar.  This uses {@link #ladderXBatch}, and is equivalent
+     * to calling {@link #mulX} on each point, except that the final
+     * divisions share a single inversion.
+     *
+     * @param <S> The scalar type.
+     * @param <P> The point type.
+     * @param <T> The scratchpad type.
+     * @param points The points to multiply.
+     * @param scalars The scalars by which to multiply.  These must be
+     *                less than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.  This should be the
+     *              bit length of the group order.
+     * @param scratch The scratchpad.
+     * @return The X coordinates from multiplying each point by its
+     *         scalar.
+     * @throws IllegalArgumentException If the array lengths differ,
+     *                                  or if {@code nbits} is rejected
+     *                                  by {@link #recode}.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends MontgomeryLadder<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        S[] mulXBatch(final P[] points,
+                      final S[] scalars,
+                      final int nbits,
+                      final T scratch)
+        throws IllegalArgumentException {
+        if (points.length != scalars.length) {
+            throw new IllegalArgumentException("Mismatched lane counts");
+        }
+
+        final S[] xs = scalars.clone();
+        final S[] zs = scalars.clone();
+        boolean done = false;
+
+        /* xs and zs must not alias the caller's scalars, as they are
+         * destroyed below if the ladder fails.
+         */
+        Arrays.fill(xs, null);
+        Arrays.fill(zs, null);
+
+        try {
+            for(int j = 0; j < points.length; j++) {
+                xs[j] = scalars[j].clone();
+                zs[j] = scalars[j].clone();
+
+                try(final S y = scalars[j].clone();
+                    final S yz = scalars[j].clone()) {
+                    points[j].montgomeryProjective(xs[j], zs[j], y, yz);
+                }
+            }
+
+            if (points.length != 0) {
+                ladderXBatch(xs, zs, scalars, nbits,
+                             points[0].constants().montgomeryLadderParam,
+                             scratch);
+            }
+
+            BatchInverse.inv(zs, scratch);
+
+            for(int j = 0; j < points.length; j++) {
+                xs[j].mul(zs[j]);
+            }
+
+            done = true;
+
+            return xs;
+        } finally {
+            for(int j = 0; j < points.length; j++) {
+                if (zs[j] != null) {
+                    zs[j].destroy();
+                }
+
+                if (!done && xs[j] != null) {
+                    xs[j].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinates resulting from
+     * multiplying each of a batch of points by the same scalar, as
+     * when one static key is used for many key exchanges.  The scalar
+     * is recoded once, the ladders run in lockstep with {@link
+     * #ladderXRecoded}, and the final divisions share a single
+     * inversion.  This is equivalent to calling {@link #mulX} on each
+     * point.
+     *
+     * @param <S> The scalar type.
+     * @param <P> The point type.
+     * @param <T> The scratchpad type.
+     * @param scalar The scalar by which to multiply.  This must be
+     *               less than {@code 2^nbits}.
+     * @param peers The points to multiply.
+     * @param out Array into which to write the X coordinates.
+     * @param nbits The number of ladder steps.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the array lengths differ,
+     *                                  or if {@code nbits} is rejected
+     *                                  by {@link #recode}.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends MontgomeryLadder<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void mulXAll(final S scalar,
+                     final P[] peers,
+                     final S[] out,
+                     final int nbits,
+                     final T scratch)
+        throws IllegalArgumentException {
+        final int n = peers.length;
+
+        if (out.length != n) {
+            throw new IllegalArgumentException("Mismatched lane counts");
+        }
+
+        if (n == 0) {
+            return;
+        }
+
+        final S[] zs = out.clone();
+        final long[] bits = recode(scalar, nbits);
+        final long[][] lanes = new long[n][];
+
+        /* zs must not alias the caller's elements in out, as it is
+         * destroyed below.
+         */
+        Arrays.fill(zs, null);
+        Arrays.fill(lanes, bits);
+
+        try {
+            for(int j = 0; j < n; j++) {
+                out[j] = scalar.clone();
+                zs[j] = scalar.clone();
+
+                try(final S y = scalar.clone();
+                    final S yz = scalar.clone()) {
+                    peers[j].montgomeryProjective(out[j], zs[j], y, yz);
+                }
+            }
+
+            ladderXRecoded(out, zs, lanes,
+                           peers[0].constants().montgomeryLadderParam,
+                           scratch);
+            BatchInverse.inv(zs, scratch);
+
+            for(int j = 0; j < n; j++) {
+                out[j].mul(zs[j]);
+            }
+        } finally {
+            Arrays.fill(bits, 0);
+
+            for(int j = 0; j < n; j++) {
+                if (zs[j] != null) {
+                    zs[j].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinates resulting from
+     * multiplying each of a batch of points by the same scalar.  The
+     * number of ladder steps is fixed by the width of the scalar
+     * field.
+     *
+     * @param <S> The scalar type.
+     * @param <P> The point type.
+     * @param <T> The scratchpad type.
+     * @param scalar The scalar by which to multiply.
+     * @param peers The points to multiply.
+     * @param out Array into which to write the X coordinates.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends MontgomeryLadder<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void mulXAll(final S scalar,
+                     final P[] peers,
+                     final S[] out,
+                     final T scratch)
+        throws IllegalArgumentException {
+        mulXAll(scalar, peers, out, ECPoint.scalarBits(scalar), scratch);
+    }
+
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinates resulting from
+     * multiplying each of a batch of points by the same scalar.
+     *
+     * @param <S> The scalar type.
+     * @param <P> The point type.
+     * @param <T> The scratchpad type.
+     * @param scalar The scalar by which to multiply.
+     * @param peers The points to multiply.
+     * @param out Array into which to write the X coordinates.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends MontgomeryLadder<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void mulXAll(final S scalar,
+                     final P[] peers,
+                     final S[] out)
+        throws IllegalArgumentException {
+        if (peers.length != 0) {
+            try(final T scratch = peers[0].scratchpad()) {
+                mulXAll(scalar, peers, out, scratch);
+            }
+        } else if (out.length != 0) {
+            throw new IllegalArgumentException("Mismatched lane counts");
+        }
+    }
+
     /**
      * Recover the {@code y}-coordinate from a result of the {@code
      * x}-coordinate Montgomery ladder.  The formula for achieving
@@ -679,32 +1208,220 @@ public interface MontgomeryLadder<S extends PrimeField<S>,
         out.reset(i0, scratch);
     }
 
+    /**
+     * Recover the {@code y}-coordinate from a result of the {@code
+     * x}-coordinate Montgomery ladder, producing projective
+     * coordinates.  This is the same method as {@link #recoverY},
+     * but the original point is given as a pair of fractions, and
+     * the result is left in projective form, so that no inversions
+     * are needed.
+     *
+     * @see #recoverY
+     * @param <S> The scalar type.
+     * @param <T> The scratchpad type.
+     * @param ux The numerator of the original {@code x}-coordinate.
+     * @param uz The denominator of the original {@code x}-coordinate.
+     * @param vy The numerator of the original {@code y}-coordinate.
+     * @param vz The denominator of the original {@code y}-coordinate.
+     * @param xn The {@code x}-coordinate produced by {@link #ladderX}
+     * multiplying ({@code point} by some {@code n}).
+     * @param zn The {@code z}-coordinate produced by {@link #ladderX}
+     * multiplying ({@code point} by some {@code n}).
+     * @param xnp1 The {@code x}-coordinate of {@code (n * point) +
+     * point = (n + 1) * point} (also produced by {@link #ladderX}).
+     * @param znp1 The {@code z}-coordinate of {@code (n * point) +
+     * point = (n + 1) * point} (also produced by {@link #ladderX}).
+     * @param curvea The {@code A} parameter of the Montgomery curve.
+     * @param curveb The {@code B} parameter of the Montgomery curve.
+     * @param xout Set to the projective {@code x}-coordinate of the
+     *             result.
+     * @param yout Set to the projective {@code y}-coordinate of the
+     *             result.
+     * @param zout Set to the projective {@code z}-coordinate of the
+     *             result.
+     * @param scratch The scratchpad object.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void recoverYProjective(final S ux,
+                                final S uz,
+                                final S vy,
+                                final S vz,
+                                final S xn,
+                                final S zn,
+                                final S xnp1,
+                                final S znp1,
+                                final S curvea,
+                                final S curveb,
+                                final S xout,
+                                final S yout,
+                                final S zout,
+                                final T scratch) {
+        /* The formula from recoverY, with x = Ux / Uz, y = Vy / Vz,
+         * and every output multiplied by Uz^2 * Vz:
+         *
+         * Yrec = ((Xn * Uz + Ux * Zn + 2 * A * Zn * Uz) *
+         *         (Ux * Xn + Zn * Uz) - 2 * A * (Zn * Uz)^2) * Znp1 -
+         *        (Xn * Uz - Ux * Zn)^2 * Xnp1
+         * Yout = Yrec * Vz
+         * Xout = 2 * B * Vy * Zn * Uz^2 * Znp1 * Xn
+         * Zout = 2 * B * Vy * Zn * Uz^2 * Znp1 * Zn
+         *
+         * Register allocation:
+         *
+         * r0 = Ux * Zn
+         * r1 = Xn * Uz
+         * r2 = (r1 - r0)^2 * Xnp1
+         * r4 = r1 + r0
+         * r3 = Zn * Uz
+         * r0.1 = 2 * A * r3
+         * r4.1 = r4 + r0.1
+         * r1.1 = Ux * Xn + r3
+         * r4.2 = r4.1 * r1.1
+         * r0.2 = r0.1 * r3
+         * r4.3 = (r4.2 - r0.2) * Znp1 - r2
+         * Yout = r4.3 * Vz
+         * r0.3 = 2 * B * Vy * r3 * Uz * Znp1
+         * Xout = r0.3 * Xn
+         * Zout = r0.3 * Zn
+         */
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = Ux * Zn */
+        r0.set(ux);
+        r0.mul(zn);
+
+        /* r1 = Xn * Uz */
+        r1.set(xn);
+        r1.mul(uz);
+
+        /* r2 = (r1 - r0)^2 * Xnp1 */
+        r2.set(r1);
+        r2.sub(r0);
+        r2.square();
+        r2.mul(xnp1);
+
+        /* r4 = r1 + r0 */
+        r4.set(r1);
+        r4.add(r0);
+
+        /* r3 = Zn * Uz */
+        r3.set(zn);
+        r3.mul(uz);
+
+        /* r0.1 = 2 * A * r3 */
+        r0.set(r3);
+        r0.mul(curvea);
+        r0.mul(2);
+
+        /* r4.1 = r4 + r0.1 */
+        r4.add(r0);
+
+        /* r1.1 = Ux * Xn + r3 */
+        r1.set(ux);
+        r1.mul(xn);
+        r1.add(r3);
+
+        /* r4.2 = r4.1 * r1.1 */
+        r4.mul(r1);
+
+        /* r0.2 = r0.1 * r3 */
+        r0.mul(r3);
+
+        /* r4.3 = (r4.2 - r0.2) * Znp1 - r2 */
+        r4.sub(r0);
+        r4.mul(znp1);
+        r4.sub(r2);
+
+        /* Yout = r4.3 * Vz */
+        yout.set(r4);
+        yout.mul(vz);
+
+        /* r0.3 = 2 * B * Vy * r3 * Uz * Znp1 */
+        r0.set(r3);
+        r0.mul(uz);
+        r0.mul(znp1);
+        r0.mul(vy);
+        r0.mul(curveb);
+        r0.mul(2);
+
+        /* Xout = r0.3 * Xn */
+        xout.set(r0);
+        xout.mul(xn);
+
+        /* Zout = r0.3 * Zn */
+        zout.set(r0);
+        zout.mul(zn);
+    }
+
     /**
      * Obtain the (Montgomery) {@code x}-coordinate resulting from
-     * multiplying this point by a scalar.
+     * multiplying this point by a scalar, running the ladder for
+     * exactly {@code nbits} steps.  The ladder itself runs on
+     * projective coordinates, so the only inversion is the one
+     * needed to produce the result.
      *
-     * @param scalar The scalar by which to multiply.
+     * @param scalar The scalar by which to multiply.  This must be
+     *               less than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
      * @param scratch The scratchpad.
      * @return The X coordinate from multiplying this point by {@code
      *         scalar}.
      */
     public default S mulX(final S scalar,
+                          final int nbits,
                           final T scratch) {
-        final S x = montgomeryX();
-
-        try(final S z = x.clone()) {
-            final S curveparam = montgomeryA();
-
-            curveparam.sub(2);
-            curveparam.div(4, scratch);
-            z.set(1);
-            ladderX(x, z, scalar, curveparam, scratch);
+        final S curveparam = constants().montgomeryLadderParam;
+        final S x = scalar.clone();
+
+        try(final S z = x.clone();
+            final S y = x.clone();
+            final S yz = x.clone()) {
+            montgomeryProjective(x, z, y, yz);
+            ladderX(x, z, scalar, nbits, curveparam, scratch);
             x.div(z, scratch);
 
             return x;
         }
     }
 
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinate resulting from
+     * multiplying this point by a scalar, running the ladder for
+     * exactly {@code nbits} steps.
+     *
+     * @param scalar The scalar by which to multiply.  This must be
+     *               less than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
+     * @return The X coordinate from multiplying this point by {@code
+     *         scalar}.
+     */
+    public default S mulX(final S scalar,
+                          final int nbits) {
+        try(final T scratch = scratchpad()) {
+            return mulX(scalar, nbits, scratch);
+        }
+    }
+
+    /**
+     * Obtain the (Montgomery) {@code x}-coordinate resulting from
+     * multiplying this point by a scalar.  The number of ladder steps
+     * is fixed by the width of the scalar field.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad.
+     * @return The X coordinate from multiplying this point by {@code
+     *         scalar}.
+     */
+    public default S mulX(final S scalar,
+                          final T scratch) {
+        return mulX(scalar, ECPoint.scalarBits(scalar), scratch);
+    }
+
     /**
      * Obtain the (Montgomery) {@code x}-coordinate resulting from
      * multiplying this point by a scalar.
@@ -720,33 +1437,108 @@ public interface MontgomeryLadder<S extends PrimeField<S>,
     }
 
     /**
-     * {@inheritDoc}
+     * Multiply this point by a scalar using the Montgomery ladder.
+     * The number of ladder steps is fixed by the width of the scalar
+     * field, so it does not depend on the value of {@code scalar}.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad.
+     * @see #mulLadder(PrimeField, int, MontgomeryLadder.Scratchpad)
      */
-    @Override
-    public default void mul(final S scalar,
-                            final T scratch) {
-        scale();
+    public default void mulLadder(final S scalar,
+                                  final T scratch) {
+        mulLadder(scalar, ECPoint.scalarBits(scalar), scratch);
+    }
 
-        try(final S x = montgomeryXScaled(scratch);
-            final S z = x.clone();
-            final S xn = x.clone();
-            final S zn = z.clone();
-            final S xnp1 = x.clone();
-            final S znp1 = z.clone()) {
-            final int len = scalar.numBits();
-            final S curvea = montgomeryA();
-            final S curveb = montgomeryB();
-            final S curveparam = montgomeryA();
-
-            curveparam.sub(2);
-            curveparam.div(4, scratch);
-            z.set(1);
+    /**
+     * Multiply this point by a scalar using the Montgomery ladder,
+     * running exactly {@code nbits} ladder steps.  The point is
+     * converted to projective Montgomery coordinates, multiplied with
+     * {@link #ladderX}, and then converted back with {@link
+     * #recoverYProjective}, without performing any inversions.
+     *
+     * @param scalar The scalar by which to multiply.  This must be
+     *               less than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
+     * @param scratch The scratchpad.
+     */
+    public default void mulLadder(final S scalar,
+                                  final int nbits,
+                                  final T scratch) {
+        final CurveConstants<S> constants = constants();
+        final S curvea = constants.montgomeryA;
+        final S curveb = constants.montgomeryB;
+        final S curveparam = constants.montgomeryLadderParam;
+
+        try(final P negated = clone();
+            final S ux = scalar.clone();
+            final S uz = ux.clone();
+            final S vy = ux.clone();
+            final S vz = ux.clone();
+            final S xn = ux.clone();
+            final S zn = ux.clone();
+            final S xnp1 = ux.clone();
+            final S znp1 = ux.clone();
+            final S xout = ux.clone();
+            final S yout = ux.clone();
+            final S zout = ux.clone()) {
+            montgomeryProjective(ux, uz, vy, vz);
+            negated.neg(scratch);
             xn.set(1);
             zn.set(0);
-            znp1.set(1);
-            ladderX(x, z, xn, zn, xnp1, znp1, scalar, curveparam, scratch);
-            recoverY(this, x, xn, zn, xnp1, znp1,
-                     curvea, curveb, this, scratch);
+            xnp1.set(ux);
+            znp1.set(uz);
+            ladderX(ux, uz, xn, zn, xnp1, znp1, scalar, nbits,
+                    curveparam, scratch);
+            recoverYProjective(ux, uz, vy, vz, xn, zn, xnp1, znp1,
+                               curvea, curveb, xout, yout, zout, scratch);
+
+            /* The recovery formula degenerates when either n * point
+             * or (n + 1) * point is the zero point.  In the latter
+             * case, the result is -point. */
+            final long npinf = zn.isZero(scratch) | uz.isZero(scratch);
+            final long np1inf = znp1.isZero(scratch);
+
+            setMontgomery(xout, yout, zout, scratch);
+            set(np1inf, negated, scratch);
+            reset(npinf, scratch);
+        }
+    }
+
+    /**
+     * Multiply this point by a scalar using the Montgomery ladder.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @see #mulLadder(PrimeField, MontgomeryLadder.Scratchpad)
+     */
+    public default void mulLadder(final S scalar) {
+        try(final T scratch = scratchpad()) {
+            mulLadder(scalar, scratch);
         }
     }
+
+    /**
+     * Multiply this point by a scalar using the Montgomery ladder,
+     * running exactly {@code nbits} ladder steps.
+     *
+     * @param scalar The scalar by which to multiply.  This must be
+     *               less than {@code 2^nbits}.
+     * @param nbits The number of ladder steps.
+     * @see #mulLadder(PrimeField, int, MontgomeryLadder.Scratchpad)
+     */
+    public default void mulLadder(final S scalar,
+                                  final int nbits) {
+        try(final T scratch = scratchpad()) {
+            mulLadder(scalar, nbits, scratch);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public default void mul(final S scalar,
+                            final T scratch) {
+        mulLadder(scalar, scratch);
+    }
 }
@@ -0,0 +1,110 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.point;
+
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Simultaneous inversion of many field elements, using Montgomery's
+ * trick.  Inverting {@code n} elements costs a single inversion and
+ * about {@code 3 * n} multiplications, instead of {@code n}
+ * inversions.
+ * <p>
+ * Zero elements are handled without branching: each is replaced by
+ * {@code 1} for the purpose of the running product, and its result
+ * is masked back to zero afterward.  As with {@link PrimeField#inv},
+ * the inverse of zero is taken to be zero.
+ */
+public final class BatchInverse {
+    private BatchInverse() {}
+
+    /**
+     * Invert every element of an array in place.
+     *
+     * @param <S> Scalar values.
+     * @param values The values to invert, replaced with their
+     *               inverses.
+     * @param scratch The scratchpad to use.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>>
+        void inv(final S[] values,
+                 final PrimeField.Scratchpad scratch) {
+        final int n = values.length;
+
+        if (n == 0) {
+            return;
+        }
+
+        final S[] prefix = (S[])new PrimeField[n];
+        final long[] zero = new long[n];
+
+        try(final S acc = values[0].clone();
+            final S tmp = values[0].clone()) {
+            /* Replace zeros with one, and compute the running
+             * products. */
+            for(int i = 0; i < n; i++) {
+                zero[i] = values[i].isZero(scratch);
+                values[i].add(zero[i]);
+
+                if (i == 0) {
+                    acc.set(values[0]);
+                } else {
+                    acc.mul(values[i]);
+                }
+
+                prefix[i] = acc.clone();
+            }
+
+            acc.inv(scratch);
+
+            /* acc is now the inverse of the product of values[0..i];
+             * peel off one value at a time. */
+            for(int i = n - 1; i > 0; i--) {
+                tmp.set(acc);
+                tmp.mul(prefix[i - 1]);
+                acc.mul(values[i]);
+                values[i].set(tmp);
+                values[i].mask(zero[i] ^ 0x1);
+            }
+
+            values[0].set(acc);
+            values[0].mask(zero[0] ^ 0x1);
+        } finally {
+            for(int i = 0; i < n; i++) {
+                if (prefix[i] != null) {
+                    prefix[i].destroy();
+                }
+            }
+        }
+    }
+}
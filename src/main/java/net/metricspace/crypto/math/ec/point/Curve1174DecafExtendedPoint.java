@@ -133,8 +133,13 @@ public class Curve1174DecafExtendedPoint
      */
     @Override
     public Curve1174DecafExtendedPoint clone() {
-        return new Curve1174DecafExtendedPoint(x.clone(), y.clone(),
-                                               z.clone(), t.clone());
+        final Curve1174DecafExtendedPoint out =
+            new Curve1174DecafExtendedPoint(x.clone(), y.clone(),
+                                            z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
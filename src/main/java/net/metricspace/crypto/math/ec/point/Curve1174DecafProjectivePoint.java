@@ -132,8 +132,12 @@ public class Curve1174DecafProjectivePoint
      */
     @Override
     public Curve1174DecafProjectivePoint clone() {
-        return new Curve1174DecafProjectivePoint(x.clone(), y.clone(),
-                                                 z.clone());
+        final Curve1174DecafProjectivePoint out =
+            new Curve1174DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -155,8 +155,13 @@ public class Curve1174ExtendedPoint
      */
     @Override
     public Curve1174ExtendedPoint clone() {
-        return new Curve1174ExtendedPoint(x.clone(), y.clone(),
-                                          z.clone(), t.clone());
+        final Curve1174ExtendedPoint out =
+            new Curve1174ExtendedPoint(x.clone(), y.clone(),
+                                       z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -152,7 +152,12 @@ public class Curve1174ProjectivePoint
      */
     @Override
     public Curve1174ProjectivePoint clone() {
-        return new Curve1174ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final Curve1174ProjectivePoint out =
+            new Curve1174ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
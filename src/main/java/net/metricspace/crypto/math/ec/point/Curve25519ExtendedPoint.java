@@ -135,8 +135,13 @@ public class Curve25519ExtendedPoint
      */
     @Override
     public Curve25519ExtendedPoint clone() {
-        return new Curve25519ExtendedPoint(x.clone(), y.clone(),
-                                           z.clone(), t.clone());
+        final Curve25519ExtendedPoint out =
+            new Curve25519ExtendedPoint(x.clone(), y.clone(),
+                                        z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -0,0 +1,347 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.point;
+
+import java.lang.ThreadLocal;
+
+import net.metricspace.crypto.math.ec.curve.Curve25519Curve;
+import net.metricspace.crypto.math.ec.hash.Elligator2;
+import net.metricspace.crypto.math.field.ModE255M19;
+
+/**
+ * Extended coordinates on the twisted Edwards curve birationally
+ * equivalent to the Montgomery curve Curve25519, computed on the
+ * isomorphic {@code a = -1} curve {@code -x^2 + y^2 = 1 - (121665 /
+ * 121666) * x^2 * y^2}.  This is the curve commonly known as
+ * edwards25519.  Coordinates are given and returned on the curve
+ * {@code 486664 * x^2 + y^2 = 1 + 486660 * x^2 * y^2}, as with {@link
+ * Curve25519ExtendedPoint}.
+ */
+public class Curve25519MinusOneExtendedPoint
+    extends ExtendedMinusOneTwistedEdwardsPoint<
+        ModE255M19, Curve25519MinusOneExtendedPoint,
+        Curve25519MinusOneExtendedPoint.Scratchpad
+    >
+    implements Curve25519Curve,
+               Elligator2<ModE255M19, Curve25519MinusOneExtendedPoint,
+                          Curve25519MinusOneExtendedPoint.Scratchpad> {
+    /**
+     * Scratchpads for extended Curve25519 points.
+     */
+    public static final class Scratchpad
+        extends ExtendedMinusOneTwistedEdwardsPoint.Scratchpad<ModE255M19> {
+
+        private static final ThreadLocal<Scratchpad> scratchpads =
+            new ThreadLocal<Scratchpad>() {
+                @Override
+                public Scratchpad initialValue() {
+                    return new Scratchpad();
+                }
+            };
+
+        /**
+         * Initialize an empty {@code Scratchpad}.
+         */
+        private Scratchpad() {
+            super(new ModE255M19(0), new ModE255M19(0), new ModE255M19(0),
+                  new ModE255M19(0), new ModE255M19(0), new ModE255M19(0),
+                  ModE255M19.NUM_DIGITS);
+        }
+
+        /**
+         * Get an instance of this {@code Scratchpad}.
+         *
+         * @return An instance of this {@code Scratchpad}.
+         */
+        public static Scratchpad get() {
+            return scratchpads.get();
+        }
+    }
+
+    /**
+     * The value {@code s = sqrt(-486664)}, which maps {@code x} on
+     * the original curve to {@code x' = s * x} on the {@code a = -1}
+     * curve.
+     */
+    private static final ModE255M19 ISOMORPHISM = isomorphism();
+
+    /**
+     * The value {@code 1 / s}.
+     */
+    private static final ModE255M19 ISOMORPHISM_INVERSE =
+        isomorphismInverse();
+
+    /**
+     * The value {@code k = 2 * d'}, where {@code d' = -486660 /
+     * 486664 = -121665 / 121666}.
+     */
+    private static final ModE255M19 EDWARDS_K = edwardsK();
+
+    private static final Curve25519MinusOneExtendedPoint ZERO =
+        new Curve25519MinusOneExtendedPoint();
+
+    /**
+     * Initialize a {@code Curve25519MinusOneExtendedPoint} with zero
+     * coordinates.
+     */
+    private Curve25519MinusOneExtendedPoint() {
+        this(new ModE255M19(0), new ModE255M19(1),
+             new ModE255M19(1), new ModE255M19(0));
+    }
+
+    /**
+     * Initialize a {@code Curve25519MinusOneExtendedPoint} with four
+     * scalar objects.  This constructor takes possession of the
+     * parameters, which are used as the coordinates on the {@code a =
+     * -1} curve.
+     *
+     * @param x The scalar object for x'.
+     * @param y The scalar object for y.
+     * @param z The scalar object for z.
+     * @param t The scalar object for t'.
+     */
+    protected Curve25519MinusOneExtendedPoint(final ModE255M19 x,
+                                              final ModE255M19 y,
+                                              final ModE255M19 z,
+                                              final ModE255M19 t) {
+        super(x, y, z, t);
+    }
+
+    /**
+     * Calculate the value {@code s = sqrt(-486664)}.
+     *
+     * @return The value {@code s}.
+     */
+    private static ModE255M19 isomorphism() {
+        final ModE255M19 out = new ModE255M19(EDWARDS_A);
+
+        out.neg();
+        out.sqrt();
+
+        return out;
+    }
+
+    /**
+     * Calculate the value {@code 1 / s}.
+     *
+     * @return The value {@code 1 / s}.
+     */
+    private static ModE255M19 isomorphismInverse() {
+        final ModE255M19 out = isomorphism();
+
+        out.inv();
+
+        return out;
+    }
+
+    /**
+     * Calculate the value {@code k = -2 * 486660 / 486664}.
+     *
+     * @return The value {@code k}.
+     */
+    private static ModE255M19 edwardsK() {
+        final ModE255M19 out = new ModE255M19(EDWARDS_D);
+
+        out.mul(-2);
+        out.div(EDWARDS_A);
+
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ModE255M19 isomorphismRef() {
+        return ISOMORPHISM;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ModE255M19 isomorphismInverseRef() {
+        return ISOMORPHISM_INVERSE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ModE255M19 edwardsKRef() {
+        return EDWARDS_K;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Scratchpad scratchpad() {
+        return Scratchpad.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Curve25519MinusOneExtendedPoint clone() {
+        final Curve25519MinusOneExtendedPoint out =
+            new Curve25519MinusOneExtendedPoint(x.clone(), y.clone(),
+                                                z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} initialized as
+     * the zero-point on the Curve25519 curve in extended coordinates.
+     *
+     * @return A zero point on the Curve25519 curve in extended
+     *         coordinates.
+     */
+    public static Curve25519MinusOneExtendedPoint zero() {
+        return new Curve25519MinusOneExtendedPoint();
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} initialized
+     * from Edwards {@code x} and {@code y} points.
+     *
+     * @param x The Edwards {@code x} coordinate.
+     * @param y The Edwards {@code y} coordinate.
+     * @return A point initialized to the given Edwards {@code x} and
+     *         {@code y} coordinates.
+     */
+    public static Curve25519MinusOneExtendedPoint
+        fromEdwards(final ModE255M19 x,
+                    final ModE255M19 y) {
+        final Curve25519MinusOneExtendedPoint p = zero();
+
+        p.setEdwards(x, y);
+
+        return p;
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} initialized
+     * from Montgomery {@code x} and {@code y} points.
+     *
+     * @param x The Montgomery {@code x} coordinate.
+     * @param y The Montgomery {@code y} coordinate.
+     * @return A point initialized to the given Montgomery {@code x}
+     *         and {@code y} coordinates.
+     */
+    public static Curve25519MinusOneExtendedPoint
+        fromMontgomery(final ModE255M19 x,
+                       final ModE255M19 y) {
+        try(final Scratchpad scratch = Scratchpad.get()) {
+            return fromMontgomery(x, y, scratch);
+        }
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} initialized
+     * from Montgomery {@code x} and {@code y} points.
+     *
+     * @param x The Montgomery {@code x} coordinate.
+     * @param y The Montgomery {@code y} coordinate.
+     * @param scratch The scratchpad to use.
+     * @return A point initialized to the given Montgomery {@code x}
+     *         and {@code y} coordinates.
+     */
+    public static Curve25519MinusOneExtendedPoint
+        fromMontgomery(final ModE255M19 x,
+                       final ModE255M19 y,
+                       final Scratchpad scratch) {
+        final Curve25519MinusOneExtendedPoint p = zero();
+
+        p.setMontgomery(x, y, scratch);
+
+        return p;
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} from a hash.
+     *
+     * @param r The hash input.
+     * @return A point initialized by hashing {@code r} to a point.
+     * @throws IllegalArgumentException If the hash input is invalid.
+     */
+    public static Curve25519MinusOneExtendedPoint
+        fromHash(final ModE255M19 r)
+        throws IllegalArgumentException {
+        try(final Scratchpad scratch = Scratchpad.get()) {
+            return fromHash(r, scratch);
+        }
+    }
+
+    /**
+     * Create a {@code Curve25519MinusOneExtendedPoint} from a hash.
+     *
+     * @param r The hash input.
+     * @param scratch The scratchpad to use.
+     * @return A point initialized by hashing {@code r} to a point.
+     * @throws IllegalArgumentException If the hash input is invalid.
+     */
+    public static Curve25519MinusOneExtendedPoint
+        fromHash(final ModE255M19 r,
+                 final Scratchpad scratch)
+        throws IllegalArgumentException {
+        final Curve25519MinusOneExtendedPoint p = zero();
+
+        p.decodeHash(r, scratch);
+
+        return p;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (!this.equals(ZERO)) {
+            final StringBuilder sb = new StringBuilder();
+
+            sb.append('(');
+            sb.append(montgomeryX().toString());
+            sb.append(", ");
+            sb.append(montgomeryY().toString());
+            sb.append(')');
+
+            return sb.toString();
+        } else {
+            return "Inf";
+        }
+    }
+}
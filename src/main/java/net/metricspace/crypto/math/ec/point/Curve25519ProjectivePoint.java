@@ -132,7 +132,12 @@ public class Curve25519ProjectivePoint
      */
     @Override
     public Curve25519ProjectivePoint clone() {
-        return new Curve25519ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final Curve25519ProjectivePoint out =
+            new Curve25519ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
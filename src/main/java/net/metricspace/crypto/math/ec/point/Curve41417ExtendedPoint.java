@@ -155,8 +155,13 @@ public class Curve41417ExtendedPoint
      */
     @Override
     public Curve41417ExtendedPoint clone() {
-        return new Curve41417ExtendedPoint(x.clone(), y.clone(),
-                                           z.clone(), t.clone());
+        final Curve41417ExtendedPoint out =
+            new Curve41417ExtendedPoint(x.clone(), y.clone(),
+                                        z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
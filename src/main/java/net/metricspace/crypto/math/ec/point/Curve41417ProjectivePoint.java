@@ -152,7 +152,12 @@ public class Curve41417ProjectivePoint
      */
     @Override
     public Curve41417ProjectivePoint clone() {
-        return new Curve41417ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final Curve41417ProjectivePoint out =
+            new Curve41417ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
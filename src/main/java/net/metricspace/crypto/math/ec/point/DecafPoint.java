@@ -32,6 +32,7 @@
 package net.metricspace.crypto.math.ec.point;
 
 import java.lang.IllegalArgumentException;
+import java.util.Arrays;
 
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
 import net.metricspace.crypto.math.field.PrimeField;
@@ -196,6 +197,385 @@ public interface DecafPoint<S extends PrimeField<S>,
         return r0.clone();
     }
 
+    /**
+     * Double raw projective Edwards coordinates, in the form needed
+     * by {@link #doubleAndCompress}.  For the doubled point, the
+     * value {@code (1 - d) * (Z2 + Y2) * (Z2 - Y2)}, whose inverse
+     * square root is needed by {@link #compress}, is the perfect
+     * square {@code W^2}.  Thus, the compressed form of the doubled
+     * point only needs the inverse of {@code W}, which can be
+     * computed for many points at once with {@link BatchInverse}.
+     *
+     * @param d The Edwards curve {@code d} parameter.
+     * @param x The {@code x}-coordinate.
+     * @param y The {@code y}-coordinate.
+     * @param z The {@code z}-coordinate.
+     * @param x2 Set to the {@code x}-coordinate of the double.
+     * @param y2 Set to the {@code y}-coordinate of the double.
+     * @param z2 Set to the {@code z}-coordinate of the double.
+     * @param t2 Set to the {@code t}-coordinate of the double.
+     * @param w Set to the value {@code W}.
+     * @param scratch The scratchpad.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void doubleForCompress(final int d,
+                               final S x,
+                               final S y,
+                               final S z,
+                               final S x2,
+                               final S y2,
+                               final S z2,
+                               final S t2,
+                               final S w,
+                               final T scratch) {
+        /* Doubling on the curve x^2 + y^2 = 1 + d * x^2 * y^2,
+         * using the curve equation to eliminate d:
+         *
+         * E = X^2 + Y^2
+         * F = 2 * Z^2 - E
+         * G = Y^2 - X^2
+         * H = 2 * X * Y
+         * X2 = H * F
+         * Y2 = G * E
+         * Z2 = E * F
+         * T2 = H * G
+         *
+         * Then Z2^2 - Y2^2 = 4 * E^2 * (Z^2 - Y^2) * (Z^2 - X^2), and
+         * from the curve equation, (Z^2 - Y^2) * (Z^2 - X^2) = (1 -
+         * d) * X^2 * Y^2, so
+         *
+         * W = (1 - d) * H * E
+         *
+         * Register allocation:
+         *
+         * r0 = X^2
+         * r1 = Y^2
+         * r2 = E
+         * r0.1 = G
+         * r1.1 = F
+         * r0.2 = H
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+
+        /* r0 = X^2, r1 = Y^2 */
+        r0.set(x);
+        r0.square();
+        r1.set(y);
+        r1.square();
+
+        /* r2 = E = r0 + r1 */
+        r2.set(r0);
+        r2.add(r1);
+
+        /* r0.1 = G = r1 - r0 */
+        r0.neg();
+        r0.add(r1);
+
+        /* r1.1 = F = 2 * Z^2 - r2 */
+        r1.set(z);
+        r1.square();
+        r1.mul(2);
+        r1.sub(r2);
+
+        /* Y2 = G * E, Z2 = E * F */
+        y2.set(r0);
+        y2.mul(r2);
+        z2.set(r2);
+        z2.mul(r1);
+
+        /* r0.2 = H = 2 * X * Y, T2 = H * G */
+        t2.set(r0);
+        r0.set(x);
+        r0.mul(y);
+        r0.mul(2);
+        t2.mul(r0);
+
+        /* X2 = H * F */
+        x2.set(r0);
+        x2.mul(r1);
+
+        /* W = (1 - d) * H * E */
+        w.set(r0);
+        w.mul(r2);
+        w.mul(1 - d);
+    }
+
+    /**
+     * Compress doubled coordinates produced by {@link
+     * #doubleForCompress}, given the inverse of {@code W}.  This
+     * produces the same result as {@link #compress} on the doubled
+     * point, but without computing an inverse square root.
+     *
+     * @param d The Edwards curve {@code d} parameter.
+     * @param x2 The {@code x}-coordinate of the double.
+     * @param y2 The {@code y}-coordinate of the double.
+     * @param z2 The {@code z}-coordinate of the double.
+     * @param t2 The {@code t}-coordinate of the double.
+     * @param winv The inverse of {@code W}.
+     * @param scratch The scratchpad.
+     * @return The compressed form of the doubled point.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        S doubleAndCompress(final int d,
+                            final S x2,
+                            final S y2,
+                            final S z2,
+                            final S t2,
+                            final S winv,
+                            final T scratch) {
+        /* This is the formula from compress, with R = 1 / W:
+         *
+         * U = (1 - d) * R
+         * Q = R * (-2 * U * Z2).signum
+         * S = abs(U * ((Q * ((Z2 * X2) - (d * Y2 * T2))) + Y2))
+         *
+         * Negating R negates U and leaves Q unchanged, so the sign of
+         * W does not matter.
+         *
+         * Register allocation:
+         *
+         * r1 = U
+         * r2 = Q
+         * r3 = d * Y2 * T2
+         * r0 = S
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+
+        /* r1 = U = (1 - d) * R */
+        r1.set(winv);
+        r1.mul(1 - d);
+
+        /* r2 = Q = R * (-2 * U * Z2).signum */
+        r3.set(r1);
+        r3.mul(z2);
+        r3.mul(-2);
+        r2.set(winv);
+        r2.mul(r3.signum(scratch));
+
+        /* r3 = d * Y2 * T2 */
+        r3.set(t2);
+        r3.mul(y2);
+        r3.mul(d);
+
+        /* r0 = abs(U * ((Q * ((Z2 * X2) - r3)) + Y2)) */
+        r0.set(z2);
+        r0.mul(x2);
+        r0.sub(r3);
+        r0.mul(r2);
+        r0.add(y2);
+        r0.mul(r1);
+        r0.abs(scratch);
+
+        return r0.clone();
+    }
+
+    /**
+     * Compress every point in an array.  Where {@link
+     * #compressScaled} saves an inversion, as it does for projective
+     * points, copies of the points are scaled together with {@link
+     * ECPoint#scaleAll}, which shares a single inversion between all
+     * of them, and then compressed with {@link #compressScaled}.
+     * Otherwise, each point is simply compressed.  Each compression
+     * still needs its own inverse square root; {@link
+     * #doubleAndCompressAll} avoids this.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to compress.  These are not modified.
+     * @param out Array into which to write the compressed points.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     * @see #compressScaledSavesInversion()
+     */
+    public static <S extends PrimeField<S>,
+                   P extends DecafPoint<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void compressAll(final P[] points,
+                         final S[] out,
+                         final T scratch)
+        throws IllegalArgumentException {
+        final int n = points.length;
+
+        if (out.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        if (n == 0) {
+            return;
+        }
+
+        if (!points[0].compressScaledSavesInversion()) {
+            for(int i = 0; i < n; i++) {
+                out[i] = points[i].compress(scratch);
+            }
+
+            return;
+        }
+
+        final P[] copies = points.clone();
+
+        Arrays.fill(copies, null);
+
+        try {
+            for(int i = 0; i < n; i++) {
+                copies[i] = points[i].clone();
+            }
+
+            ECPoint.scaleAll(copies, scratch);
+
+            for(int i = 0; i < n; i++) {
+                out[i] = copies[i].compressScaled(scratch);
+            }
+        } finally {
+            for(int i = 0; i < n; i++) {
+                if (copies[i] != null) {
+                    copies[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compress every point in an array.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to compress.  These are not modified.
+     * @param out Array into which to write the compressed points.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     * @see #compressAll(DecafPoint[], PrimeField[],
+     *                   MontgomeryLadder.Scratchpad)
+     */
+    public static <S extends PrimeField<S>,
+                   P extends DecafPoint<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void compressAll(final P[] points,
+                         final S[] out)
+        throws IllegalArgumentException {
+        if (points.length != 0) {
+            try(final T scratch = points[0].scratchpad()) {
+                compressAll(points, out, scratch);
+            }
+        } else if (out.length != 0) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+    }
+
+    /**
+     * Compress the double of every point in an array.  This is
+     * equivalent to doubling each point and calling {@link
+     * #compress}, but it needs no inverse square roots at all: all
+     * {@code n} compressions share a single inversion, together with
+     * {@code O(n)} multiplications.  Protocols that can publish
+     * {@code 2 * P} in place of {@code P} should prefer this to
+     * {@link #compressAll}.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to double and compress.  These are
+     *               not modified.
+     * @param out Array into which to write the compressed doubles.
+     * @param scratch The scratchpad.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     * @see #doubleForCompress
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>,
+                   P extends DecafPoint<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void doubleAndCompressAll(final P[] points,
+                                  final S[] out,
+                                  final T scratch)
+        throws IllegalArgumentException {
+        final int n = points.length;
+
+        if (out.length != n) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        if (n == 0) {
+            return;
+        }
+
+        final int d = points[0].edwardsD();
+        final S[][] doubled = (S[][])new PrimeField[4][n];
+        final S[] w = (S[])new PrimeField[n];
+
+        try {
+            for(int i = 0; i < n; i++) {
+                w[i] = scratch.r0.clone();
+
+                for(int j = 0; j < doubled.length; j++) {
+                    doubled[j][i] = scratch.r0.clone();
+                }
+
+                points[i].doubleForCompress(doubled[0][i], doubled[1][i],
+                                            doubled[2][i], doubled[3][i],
+                                            w[i], scratch);
+            }
+
+            BatchInverse.inv(w, scratch);
+
+            for(int i = 0; i < n; i++) {
+                out[i] = doubleAndCompress(d, doubled[0][i], doubled[1][i],
+                                           doubled[2][i], doubled[3][i],
+                                           w[i], scratch);
+            }
+        } finally {
+            for(int i = 0; i < n; i++) {
+                if (w[i] != null) {
+                    w[i].destroy();
+                }
+
+                for(int j = 0; j < doubled.length; j++) {
+                    if (doubled[j][i] != null) {
+                        doubled[j][i].destroy();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compress the double of every point in an array.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to double and compress.  These are
+     *               not modified.
+     * @param out Array into which to write the compressed doubles.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     * @see #doubleAndCompressAll(DecafPoint[], PrimeField[],
+     *                            MontgomeryLadder.Scratchpad)
+     */
+    public static <S extends PrimeField<S>,
+                   P extends DecafPoint<S, P, T>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        void doubleAndCompressAll(final P[] points,
+                                  final S[] out)
+        throws IllegalArgumentException {
+        if (points.length != 0) {
+            try(final T scratch = points[0].scratchpad()) {
+                doubleAndCompressAll(points, out, scratch);
+            }
+        } else if (out.length != 0) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+    }
+
     /**
      * Decompress a point and fill in the extended Edwards
      * coordinates.
@@ -388,4 +768,199 @@ public interface DecafPoint<S extends PrimeField<S>,
             t.mul(x);
         }
     }
+
+    /**
+     * Decompress a point without throwing an exception, and fill in
+     * the extended Edwards coordinates.  This differs from {@link
+     * #decompress} in that it checks the validity of {@code s} by
+     * squaring the inverse square root, rather than computing a
+     * separate Legendre symbol, so it needs only one exponentiation.
+     * The coordinates are garbage if {@code s} is invalid.
+     *
+     * @param d The Edwards curve {@code d} parameter.
+     * @param s The compressed point.
+     * @param x The scalar object to which to write the {@code
+     *          x}-coordinate.
+     * @param y The scalar object to which to write the {@code
+     *          y}-coordinate.
+     * @param z The scalar object to which to write the {@code
+     *          z}-coordinate.
+     * @param t The scalar object to which to write the {@code
+     *          t}-coordinate, will not be written if this is null.
+     * @param scratch The scratchpad object.
+     * @return {@code 1} if {@code s} is a valid compressed point,
+     *         {@code 0} otherwise.
+     */
+    public static <S extends PrimeField<S>,
+                   T extends MontgomeryLadder.Scratchpad<S>>
+        long tryDecompress(final int d,
+                           final S s,
+                           final S x,
+                           final S y,
+                           final S z,
+                           final S t,
+                           final T scratch) {
+        /* This is the formula from decompress, except that
+         *
+         * V = C.invsqrt * C.legendre
+         *
+         * is replaced with
+         *
+         * V = C.invsqrt, masked to 0 if C == 0
+         * Reject unless C == 0 or V^2 * C == 1
+         *
+         * Register allocation is as in decompress, with the addition
+         * of:
+         *
+         * r3 = C
+         * r4 = V^2 * C - 1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* X = 2 * s */
+        x.set(s);
+        x.mul(2);
+
+        /* r0 = s^2 */
+        r0.set(s);
+        r0.square();
+
+        /* Z = 1 + r0 */
+        z.set(r0);
+        z.add(1);
+
+        /* r2 = Z^2 */
+        r2.set(z);
+        r2.square();
+
+        /* r1 = r2 - (4 * d * r0) */
+        r1.set(r0);
+        r1.mul(d * -4);
+        r1.add(r2);
+
+        /* r0.1 = C = r1 * r0 */
+        r0.mul(r1);
+        r3.set(r0);
+
+        /* r0.2 = V = r0.1.invsqrt */
+        r0.invSqrt(scratch);
+
+        /* r4 = V^2 * C - 1 */
+        r4.set(r0);
+        r4.square();
+        r4.mul(r3);
+        r4.sub(1);
+
+        final long czero = r3.isZero(scratch);
+        final long negative = (s.signum(scratch) >>> 31) & 0x1;
+        final long valid = (r4.isZero(scratch) | czero) & (negative ^ 0x1);
+
+        r0.mask(czero ^ 0x1);
+
+        /* r1.1 = r1 * r0.2 */
+        r1.mul(r0);
+
+        /* r0.3 = r0.2 * r1.1.signum */
+        r0.mul(r1.signum(scratch));
+
+        /* r1.2 = 2 - Z */
+        r1.set(2);
+        r1.sub(z);
+
+        /* r0.4 = r0.3 * s * r1.2 */
+        r0.mul(s);
+        r0.mul(r1);
+
+        /* r0.5 = r0.4 + s.isZero */
+        r0.add(s.isZero(scratch));
+
+        /* Y = r0.5 * Z */
+        y.set(r0);
+        y.mul(z);
+
+        /* T = r0.5 * X */
+        if (t != null) {
+            t.set(r0);
+            t.mul(x);
+        }
+
+        return valid;
+    }
+
+    /**
+     * Decaf quotients out the cofactor, so the cofactor of the
+     * resulting group is {@code 1}.
+     *
+     * @return The value {@code 1}
+     */
+    @Override
+    public default int cofactor() {
+        return 1;
+    }
+
+    /**
+     * Compress the point, assuming it has been scaled.
+     *
+     * @param scratch The scratchpad to use.
+     * @return The compressed point.
+     * @see #scale()
+     */
+    public default S compressScaled(final T scratch) {
+        return compress(scratch);
+    }
+
+    /**
+     * Check whether {@link #compressScaled} saves an inversion over
+     * {@link #compress}.  When it does, batch compression scales
+     * the points first, so that all of them share one inversion.
+     *
+     * @return {@code true} if compressing a scaled point avoids an
+     *         inversion.
+     */
+    public default boolean compressScaledSavesInversion() {
+        return false;
+    }
+
+    /**
+     * Double this point into the form needed by {@link
+     * #doubleAndCompress}, without modifying this point.
+     *
+     * @param x2 Set to the {@code x}-coordinate of the double.
+     * @param y2 Set to the {@code y}-coordinate of the double.
+     * @param z2 Set to the {@code z}-coordinate of the double.
+     * @param t2 Set to the {@code t}-coordinate of the double.
+     * @param w Set to the value {@code W}.
+     * @param scratch The scratchpad.
+     * @see #doubleForCompress(int, PrimeField, PrimeField, PrimeField,
+     *                         PrimeField, PrimeField, PrimeField,
+     *                         PrimeField, PrimeField,
+     *                         MontgomeryLadder.Scratchpad)
+     */
+    public void doubleForCompress(final S x2,
+                                  final S y2,
+                                  final S z2,
+                                  final S t2,
+                                  final S w,
+                                  final T scratch);
+
+    /**
+     * Set this point's value by decompressing a compressed point,
+     * without throwing an exception.  If {@code s} is invalid, this
+     * point is set to the zero point.
+     *
+     * @param s The compressed point.
+     * @param scratch The scratchpad.
+     * @return {@code 1} if {@code s} is a valid compressed point,
+     *         {@code 0} otherwise.
+     * @see #tryDecompress(int, PrimeField, PrimeField, PrimeField,
+     *                     PrimeField, PrimeField,
+     *                     MontgomeryLadder.Scratchpad)
+     */
+    public long tryDecompress(final S s,
+                              final T scratch);
 }
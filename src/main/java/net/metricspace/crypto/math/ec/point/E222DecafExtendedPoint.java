@@ -131,8 +131,13 @@ public class E222DecafExtendedPoint
      */
     @Override
     public E222DecafExtendedPoint clone() {
-        return new E222DecafExtendedPoint(x.clone(), y.clone(),
-                                          z.clone(), t.clone());
+        final E222DecafExtendedPoint out =
+            new E222DecafExtendedPoint(x.clone(), y.clone(),
+                                       z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -129,7 +129,12 @@ public class E222DecafProjectivePoint
      */
     @Override
     public E222DecafProjectivePoint clone() {
-        return new E222DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E222DecafProjectivePoint out =
+            new E222DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
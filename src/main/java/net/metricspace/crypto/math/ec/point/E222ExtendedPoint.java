@@ -154,8 +154,12 @@ public class E222ExtendedPoint
      */
     @Override
     public E222ExtendedPoint clone() {
-        return new E222ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final E222ExtendedPoint out =
+            new E222ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -152,7 +152,12 @@ public class E222ProjectivePoint
      */
     @Override
     public E222ProjectivePoint clone() {
-        return new E222ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E222ProjectivePoint out =
+            new E222ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
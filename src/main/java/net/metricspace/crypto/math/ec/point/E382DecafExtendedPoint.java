@@ -131,8 +131,13 @@ public class E382DecafExtendedPoint
      */
     @Override
     public E382DecafExtendedPoint clone() {
-        return new E382DecafExtendedPoint(x.clone(), y.clone(),
-                                          z.clone(), t.clone());
+        final E382DecafExtendedPoint out =
+            new E382DecafExtendedPoint(x.clone(), y.clone(),
+                                       z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -128,7 +128,12 @@ public class E382DecafProjectivePoint
      */
     @Override
     public E382DecafProjectivePoint clone() {
-        return new E382DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E382DecafProjectivePoint out =
+            new E382DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
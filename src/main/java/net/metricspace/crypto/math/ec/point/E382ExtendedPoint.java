@@ -154,8 +154,12 @@ public class E382ExtendedPoint
      */
     @Override
     public E382ExtendedPoint clone() {
-        return new E382ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final E382ExtendedPoint out =
+            new E382ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -151,7 +151,12 @@ public class E382ProjectivePoint
      */
     @Override
     public E382ProjectivePoint clone() {
-        return new E382ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E382ProjectivePoint out =
+            new E382ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -131,8 +131,13 @@ public class E521DecafExtendedPoint
      */
     @Override
     public E521DecafExtendedPoint clone() {
-        return new E521DecafExtendedPoint(x.clone(), y.clone(),
-                                          z.clone(), t.clone());
+        final E521DecafExtendedPoint out =
+            new E521DecafExtendedPoint(x.clone(), y.clone(),
+                                       z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -128,7 +128,12 @@ public class E521DecafProjectivePoint
      */
     @Override
     public E521DecafProjectivePoint clone() {
-        return new E521DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E521DecafProjectivePoint out =
+            new E521DecafProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
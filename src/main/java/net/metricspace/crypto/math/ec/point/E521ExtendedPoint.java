@@ -154,8 +154,12 @@ public class E521ExtendedPoint
      */
     @Override
     public E521ExtendedPoint clone() {
-        return new E521ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final E521ExtendedPoint out =
+            new E521ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -151,7 +151,12 @@ public class E521ProjectivePoint
      */
     @Override
     public E521ProjectivePoint clone() {
-        return new E521ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final E521ProjectivePoint out =
+            new E521ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
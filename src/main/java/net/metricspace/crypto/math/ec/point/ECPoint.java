@@ -36,6 +36,9 @@ import java.lang.AutoCloseable;
 import javax.security.auth.Destroyable;
 import javax.security.auth.DestroyFailedException;
 
+import net.metricspace.crypto.math.ec.window.AdditionChain;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
+import net.metricspace.crypto.math.ec.window.WindowedNAF;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -99,6 +102,72 @@ public interface ECPoint<S extends PrimeField<S>,
         }
     }
 
+    /**
+     * A point in a form prepared for repeated use as the argument of
+     * {@link ECPoint#add(ECPoint.Cached, ECPoint.Scratchpad)}, such
+     * as an entry in a table of multiples.  Representations which
+     * have no cheaper addition with a precomputed argument simply
+     * hold a copy of the point.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @see ECPoint#cache(ECPoint.Scratchpad)
+     */
+    public static interface Cached<S extends PrimeField<S>,
+                                   P extends ECPoint<S, P, T>,
+                                   T extends ECPoint.Scratchpad<S>>
+        extends Cloneable, Destroyable, AutoCloseable {
+        /**
+         * Conditionally set this cached point to another, in
+         * constant time.
+         *
+         * @param bit {@code 1} to copy {@code other}, or {@code 0} to
+         *            leave this as is.
+         * @param other The cached point to copy.
+         * @param scratch The scratchpad to use.
+         */
+        public void set(final long bit,
+                        final Cached<S, P, T> other,
+                        final T scratch);
+
+        /**
+         * Set this cached point to the zero point.
+         *
+         * @param scratch The scratchpad to use.
+         */
+        public void reset(final T scratch);
+
+        /**
+         * Conditionally negate this cached point, in constant time.
+         *
+         * @param bit {@code 1} to negate, or {@code 0} to leave this
+         *            as is.
+         * @param scratch The scratchpad to use.
+         */
+        public void neg(final long bit,
+                        final T scratch);
+
+        /**
+         * {@inheritDoc}
+         */
+        public Cached<S, P, T> clone();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public default void close() {
+            destroy();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -135,6 +204,21 @@ public interface ECPoint<S extends PrimeField<S>,
      */
     public void set(final P point);
 
+    /**
+     * Set the value of this point from another point or not,
+     * depending on a parameter.  In order to facilitate a branch-free
+     * implementation, this is passed as an integer which is expected
+     * to be {@code 0} or {@code 1} as opposed to a {@code boolean}.
+     *
+     * @param bool {@code 1} to copy {@code point} into this point, or
+     *             {@code 0} to leave it as is.
+     * @param point The point to copy.
+     * @param scratch The scratchpad to use.
+     */
+    public void set(final long bool,
+                    final P point,
+                    final T scratch);
+
     /**
      * Set from a point on the underlying curve.
      *
@@ -197,15 +281,254 @@ public interface ECPoint<S extends PrimeField<S>,
         }
     }
 
+    /**
+     * Negate this point or not, depending on a parameter.  In order
+     * to facilitate a branch-free implementation, this is passed as
+     * an integer which is expected to be {@code 0} or {@code 1} as
+     * opposed to a {@code boolean}.
+     *
+     * @param bool {@code 1} to negate this point, or {@code 0} to
+     *             leave it as is.
+     * @param scratch The scratchpad to use.
+     */
+    public void neg(final long bool,
+                    final T scratch);
+
+    /**
+     * Negate this point or not, depending on a parameter.  In order
+     * to facilitate a branch-free implementation, this is passed as
+     * an integer which is expected to be {@code 0} or {@code 1} as
+     * opposed to a {@code boolean}.
+     *
+     * @param bool {@code 1} to negate this point, or {@code 0} to
+     *             leave it as is.
+     */
+    public default void neg(final long bool) {
+        try(final T scratch = scratchpad()) {
+            neg(bool, scratch);
+        }
+    }
+
+    /**
+     * Negate this point.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public default void neg(final T scratch) {
+        neg(1, scratch);
+    }
+
+    /**
+     * Negate this point.
+     */
+    public default void neg() {
+        try(final T scratch = scratchpad()) {
+            neg(1, scratch);
+        }
+    }
+
     /**
      * Scale the point.  This is used in the context of {@link madd}
-     * and {@link mmadd}.
+     * and {@link mmadd}.  This does nothing if the point is already
+     * known to be scaled.
      *
      * @see madd
      * @see mmadd
      */
     public void scale();
 
+    /**
+     * Scale the point, given the inverse of its scaling factor.  This
+     * is equivalent to {@link #scale()}, but allows a single
+     * inversion to be shared between many points.
+     *
+     * @param inverse The inverse of {@link #scaleFactorRef()}.
+     * @see #scaleAll(ECPoint[], ECPoint.Scratchpad)
+     */
+    public void scale(final S inverse);
+
+    /**
+     * Get a direct reference to the scaling factor ({@code Z}) of
+     * this point.  This must not be modified.
+     *
+     * @return The scaling factor.
+     */
+    public S scaleFactorRef();
+
+    /**
+     * Check whether this point is known to be scaled, meaning that
+     * {@link #scaleFactorRef()} is {@code 1}.  Points track this
+     * themselves, so {@link #add} uses {@link #madd} or {@link
+     * #mmadd}, and {@link #scale()} skips the inversion, whenever
+     * possible.
+     *
+     * @return Whether this point is known to be scaled.
+     */
+    public boolean isScaled();
+
+    /**
+     * Check whether this point satisfies the curve equation.  This is
+     * done on the internal coordinates, without any inversions, and
+     * in constant time.  It does not check membership in the
+     * prime-order subgroup.
+     *
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if this point is on the curve, {@code 0}
+     *         otherwise.
+     */
+    public long onCurve(final T scratch);
+
+    /**
+     * Scale every point in an array, using a single inversion.  The
+     * scaling factors are inverted together with {@link
+     * BatchInverse}, so scaling {@code n} points costs one inversion
+     * and about {@code 5 * n} multiplications.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to scale.
+     * @param scratch The scratchpad to use.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void scaleAll(final P[] points,
+                      final T scratch) {
+        final S[] inverses = (S[])new PrimeField[points.length];
+
+        try {
+            for(int i = 0; i < points.length; i++) {
+                inverses[i] = points[i].scaleFactorRef().clone();
+            }
+
+            BatchInverse.inv(inverses, scratch);
+
+            for(int i = 0; i < points.length; i++) {
+                points[i].scale(inverses[i]);
+            }
+        } finally {
+            for(int i = 0; i < points.length; i++) {
+                if (inverses[i] != null) {
+                    inverses[i].destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Add pairs of scaled points, leaving the results scaled.  Each
+     * {@code points[i]} is set to {@code points[i] + others[i]} with
+     * {@link #mmadd}, and the sums are then scaled together with
+     * {@link #scaleAll}, so the whole batch costs a single inversion.
+     * Because the results are scaled, they can be fed directly into
+     * another call, as in a sequential walk or a bucket
+     * accumulation.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to which to add.  These must be
+     *               scaled.
+     * @param others The points to add.  These must be scaled, and
+     *               are not modified.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mmaddAll(final P[] points,
+                      final P[] others,
+                      final T scratch)
+        throws IllegalArgumentException {
+        if (points.length != others.length) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+
+        for(int i = 0; i < points.length; i++) {
+            points[i].mmadd(others[i], scratch);
+        }
+
+        scaleAll(points, scratch);
+    }
+
+    /**
+     * Add pairs of scaled points, leaving the results scaled.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to which to add.  These must be
+     *               scaled.
+     * @param others The points to add.  These must be scaled, and
+     *               are not modified.
+     * @throws IllegalArgumentException If the arrays' lengths differ.
+     * @see #mmaddAll(ECPoint[], ECPoint[], ECPoint.Scratchpad)
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mmaddAll(final P[] points,
+                      final P[] others)
+        throws IllegalArgumentException {
+        if (points.length != 0) {
+            try(final T scratch = points[0].scratchpad()) {
+                mmaddAll(points, others, scratch);
+            }
+        } else if (others.length != 0) {
+            throw new IllegalArgumentException("Mismatched array lengths");
+        }
+    }
+
+    /**
+     * Scale every point in an array, using a single inversion.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points to scale.
+     * @see #scaleAll(ECPoint[], ECPoint.Scratchpad)
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void scaleAll(final P[] points) {
+        if (points.length != 0) {
+            try(final T scratch = points[0].scratchpad()) {
+                scaleAll(points, scratch);
+            }
+        }
+    }
+
+    /**
+     * Get the number of bits in a scalar value.  This is the bit
+     * length of the field modulus, which does not depend on the
+     * scalar value itself, so it can be used as a fixed iteration
+     * count.
+     *
+     * @param <S> Scalar values.
+     * @param scalar A scalar value, used only to obtain the field.
+     * @return The number of bits in the largest scalar value.
+     */
+    public static <S extends PrimeField<S>> int scalarBits(final S scalar) {
+        try(final S max = scalar.clone()) {
+            max.set(0);
+            max.sub(1);
+
+            return max.numBits();
+        }
+    }
+
+    /**
+     * Get the cofactor of the group in which this point lives.  This
+     * is the factor by which {@link #clearCofactor} multiplies.
+     *
+     * @return The cofactor.
+     */
+    public int cofactor();
+
     /**
      * Add another point to this one.  The other point must not be
      * equal to this one, or else {@link suadd} or {@link dbl} must be
@@ -220,9 +543,9 @@ public interface ECPoint<S extends PrimeField<S>,
     }
 
     /**
-     * Add another point to this one, when this point has been scaled.
-     * The other point must not be equal to this one, or else {@link
-     * suadd} or {@link dbl} must be used.
+     * Add another point to this one, when the other point has been
+     * scaled.  The other point must not be equal to this one, or else
+     * {@link suadd} or {@link dbl} must be used.
      *
      * @param point The point to add.
      * @see scale
@@ -270,6 +593,19 @@ public interface ECPoint<S extends PrimeField<S>,
         }
     }
 
+    /**
+     * Double this point {@code n} times.  This is mathematically
+     * equivalent to multiplying by {@code 2^n}, but representations
+     * may skip work on the intermediate results.
+     *
+     * @param n The number of doublings.
+     */
+    public default void dbl(final int n) {
+        try(final T scratchpad = scratchpad()) {
+            dbl(n, scratchpad);
+        }
+    }
+
     /**
      * Double this point, assuming that it has previously been scaled.
      *
@@ -292,6 +628,33 @@ public interface ECPoint<S extends PrimeField<S>,
         }
     }
 
+    /**
+     * Multiply this point by a small integer, using an addition
+     * chain.  This is much cheaper than {@link #mul} for small
+     * multipliers.
+     * <p>
+     * <b>This is not constant-time in {@code k}</b>, and must only
+     * be used with public multipliers, such as cofactors.
+     *
+     * @param k The (public) multiplier.
+     * @see net.metricspace.crypto.math.ec.window.AdditionChain
+     */
+    public default void mulSmall(final int k) {
+        try(final T scratchpad = scratchpad()) {
+            mulSmall(k, scratchpad);
+        }
+    }
+
+    /**
+     * Multiply this point by the cofactor.  The result is always in
+     * the prime-order subgroup.
+     */
+    public default void clearCofactor() {
+        try(final T scratchpad = scratchpad()) {
+            clearCofactor(scratchpad);
+        }
+    }
+
 
     /**
      * Multiply this point by a scalar.  This is equivalent to adding
@@ -305,6 +668,65 @@ public interface ECPoint<S extends PrimeField<S>,
         }
     }
 
+    /**
+     * Multiply this point by a scalar, in variable time.  This is
+     * mathematically equivalent to {@link #mul}, but is faster.
+     * <p>
+     * <b>This is not constant-time</b>, and leaks information about
+     * {@code scalar} through timing and memory access.  It must only
+     * be used with public scalars, such as when verifying signatures.
+     *
+     * @param scalar The (public) scalar by which to multiply.
+     * @see net.metricspace.crypto.math.ec.window.WindowedNAF
+     */
+    public default void mulVartime(final S scalar) {
+        try(final T scratchpad = scratchpad()) {
+            mulVartime(scalar, scratchpad);
+        }
+    }
+
+    /**
+     * Multiply this point by a scalar, and add another point
+     * multiplied by another scalar.  This is mathematically
+     * equivalent to two calls to {@link #mul} followed by an {@link
+     * #add}, but shares doublings between the two multiplications.
+     *
+     * @param a The scalar by which to multiply this point.
+     * @param q The other point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @see net.metricspace.crypto.math.ec.window.FixedWindow
+     */
+    public default void mulAdd(final S a,
+                               final P q,
+                               final S b) {
+        try(final T scratchpad = scratchpad()) {
+            mulAdd(a, q, b, scratchpad);
+        }
+    }
+
+    /**
+     * Multiply this point by a scalar, and add another point
+     * multiplied by another scalar, in variable time.  This is
+     * mathematically equivalent to {@link #mulAdd}, but is faster.
+     * <p>
+     * <b>This is not constant-time</b>, and leaks information about
+     * {@code a} and {@code b} through timing and memory access.  It
+     * must only be used with public scalars, such as when verifying
+     * signatures.
+     *
+     * @param a The (public) scalar by which to multiply this point.
+     * @param q The other point.
+     * @param b The (public) scalar by which to multiply {@code q}.
+     * @see net.metricspace.crypto.math.ec.window.WindowedNAF
+     */
+    public default void mulAddVartime(final S a,
+                                      final P q,
+                                      final S b) {
+        try(final T scratchpad = scratchpad()) {
+            mulAddVartime(a, q, b, scratchpad);
+        }
+    }
+
     /**
      * Add another point to this one.  The other point must not be
      * equal to this one, or else {@link suadd} or {@link dbl} must be
@@ -317,9 +739,31 @@ public interface ECPoint<S extends PrimeField<S>,
                     final T scratchpad);
 
     /**
-     * Add another point to this one, when this point has been scaled.
-     * The other point must not be equal to this one, or else {@link
-     * suadd} or {@link dbl} must be used.
+     * Prepare a copy of this point for repeated use as the argument
+     * of {@link #add(ECPoint.Cached, ECPoint.Scratchpad)}.
+     *
+     * @param scratchpad The scratchpad to use.
+     * @return The cached form of this point.
+     */
+    public Cached<S, P, T> cache(final T scratchpad);
+
+    /**
+     * Add a cached point to this one.  This is equivalent to {@link
+     * #add(ECPoint, ECPoint.Scratchpad)} with the point from which
+     * {@code point} was created, but saves the work which only
+     * depends on that point.
+     *
+     * @param point The cached point to add.
+     * @param scratchpad The scratchpad to use.
+     * @see #cache(ECPoint.Scratchpad)
+     */
+    public void add(final Cached<S, P, T> point,
+                    final T scratchpad);
+
+    /**
+     * Add another point to this one, when the other point has been
+     * scaled.  The other point must not be equal to this one, or else
+     * {@link suadd} or {@link dbl} must be used.
      *
      * @param point The point to add.
      * @param scratchpad The scratchpad to use.
@@ -355,6 +799,20 @@ public interface ECPoint<S extends PrimeField<S>,
      */
     public void dbl(final T scratchpad);
 
+    /**
+     * Double this point {@code n} times.  This is mathematically
+     * equivalent to multiplying by {@code 2^n}, but representations
+     * may skip work on the intermediate results.
+     *
+     * @param n The number of doublings.
+     */
+    public default void dbl(final int n,
+                            final T scratchpad) {
+        for(int i = 0; i < n; i++) {
+            dbl(scratchpad);
+        }
+    }
+
     /**
      * Double this point, assuming that it has previously been scaled.
      *
@@ -368,6 +826,33 @@ public interface ECPoint<S extends PrimeField<S>,
      */
     public void tpl(final T scratchpad);
 
+    /**
+     * Multiply this point by a small integer, using an addition
+     * chain.  This is much cheaper than {@link #mul} for small
+     * multipliers.
+     * <p>
+     * <b>This is not constant-time in {@code k}</b>, and must only
+     * be used with public multipliers, such as cofactors.
+     *
+     * @param k The (public) multiplier.
+     * @param scratchpad The scratchpad to use.
+     * @see net.metricspace.crypto.math.ec.window.AdditionChain
+     */
+    public default void mulSmall(final int k,
+                                 final T scratchpad) {
+        AdditionChain.mul(this, k, scratchpad);
+    }
+
+    /**
+     * Multiply this point by the cofactor.  The result is always in
+     * the prime-order subgroup.
+     *
+     * @param scratchpad The scratchpad to use.
+     */
+    public default void clearCofactor(final T scratchpad) {
+        mulSmall(cofactor(), scratchpad);
+    }
+
     /**
      * Multiply this point by a scalar.  This is equivalent to adding
      * the point to itself .
@@ -377,6 +862,65 @@ public interface ECPoint<S extends PrimeField<S>,
     public void mul(final S scalar,
                     final T scratchpad);
 
+    /**
+     * Multiply this point by a scalar, in variable time.  This is
+     * mathematically equivalent to {@link #mul}, but is faster.
+     * <p>
+     * <b>This is not constant-time</b>, and leaks information about
+     * {@code scalar} through timing and memory access.  It must only
+     * be used with public scalars, such as when verifying signatures.
+     *
+     * @param scalar The (public) scalar by which to multiply.
+     * @param scratchpad The scratchpad to use.
+     * @see net.metricspace.crypto.math.ec.window.WindowedNAF
+     */
+    public default void mulVartime(final S scalar,
+                                   final T scratchpad) {
+        WindowedNAF.mul(this, scalar, scratchpad);
+    }
+
+    /**
+     * Multiply this point by a scalar, and add another point
+     * multiplied by another scalar.  This is mathematically
+     * equivalent to two calls to {@link #mul} followed by an {@link
+     * #add}, but shares doublings between the two multiplications.
+     *
+     * @param a The scalar by which to multiply this point.
+     * @param q The other point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param scratchpad The scratchpad to use.
+     * @see net.metricspace.crypto.math.ec.window.FixedWindow
+     */
+    public default void mulAdd(final S a,
+                               final P q,
+                               final S b,
+                               final T scratchpad) {
+        FixedWindow.mulAdd(this, a, q, b, scratchpad);
+    }
+
+    /**
+     * Multiply this point by a scalar, and add another point
+     * multiplied by another scalar, in variable time.  This is
+     * mathematically equivalent to {@link #mulAdd}, but is faster.
+     * <p>
+     * <b>This is not constant-time</b>, and leaks information about
+     * {@code a} and {@code b} through timing and memory access.  It
+     * must only be used with public scalars, such as when verifying
+     * signatures.
+     *
+     * @param a The (public) scalar by which to multiply this point.
+     * @param q The other point.
+     * @param b The (public) scalar by which to multiply {@code q}.
+     * @param scratchpad The scratchpad to use.
+     * @see net.metricspace.crypto.math.ec.window.WindowedNAF
+     */
+    public default void mulAddVartime(final S a,
+                                      final P q,
+                                      final S b,
+                                      final T scratchpad) {
+        WindowedNAF.mulAdd(this, a, q, b, scratchpad);
+    }
+
     /**
      * Get the X coordinate.
      *
@@ -35,6 +35,7 @@ import javax.security.auth.Destroyable;
 
 import net.metricspace.crypto.math.ec.curve.EdwardsCurve;
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -142,6 +143,17 @@ public abstract class
     @Override
     public final void add(final P point,
                           final T scratch) {
+        if (point.scaled) {
+            /* Z2 = 1, so use a mixed addition */
+            if (scaled) {
+                mmadd(point, scratch);
+            } else {
+                madd(point, scratch);
+            }
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended.html#addition-add-2008-hwcd
          *
@@ -263,6 +275,8 @@ public abstract class
         /* Z3 = r0.1 * r3.1 */
         z.set(r0);
         z.mul(r3);
+
+        scaled = false;
     }
 
     /**
@@ -384,6 +398,8 @@ public abstract class
         /* Z3 = r0.1 * r2.1 */
         z.set(r0);
         z.mul(r2);
+
+        scaled = false;
     }
 
     /**
@@ -510,6 +526,8 @@ public abstract class
         /* Z3 = 1 - r2.1 */
         z.set(1);
         z.sub(r2);
+
+        scaled = false;
     }
 
     /**
@@ -517,6 +535,58 @@ public abstract class
      */
     @Override
     public final void dbl(final T scratch) {
+        if (scaled) {
+            /* Z1 = 1, so use a mixed doubling */
+            mdbl(scratch);
+
+            return;
+        }
+
+        dblXYZ(scratch);
+
+        /* T3 = r3 * r0 */
+        t.set(scratch.r3);
+        t.mul(scratch.r0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void dbl(final int n,
+                          final T scratch) {
+        if (n <= 0) {
+            return;
+        }
+
+        if (n == 1 || scaled) {
+            dbl(scratch);
+            dbl(n - 1, scratch);
+
+            return;
+        }
+
+        /* The doubling formula does not read T1, so only the last
+         * doubling in the chain needs to compute T3.
+         */
+        for(int i = 0; i < n; i++) {
+            dblXYZ(scratch);
+        }
+
+        /* T3 = r3 * r0 */
+        t.set(scratch.r3);
+        t.mul(scratch.r0);
+    }
+
+    /**
+     * Double this point, computing only {@code X}, {@code Y}, and
+     * {@code Z}.  This leaves {@code E} in {@code r3} and {@code H}
+     * in {@code r0}, so that {@code T3 = E * H} can be computed
+     * afterward.  The value of {@code T} is not updated.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    private void dblXYZ(final T scratch) {
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended.html#doubling-dbl-2008-hwcd
          *
@@ -620,17 +690,13 @@ public abstract class
         y.set(r4);
         y.mul(r0);
 
-        /* T3 = r3 * r0.1,
-         * r3 dead
-         */
-        t.set(r3);
-        t.mul(r0);
-
         /* Z3 = r2.1 * r4,
          * r2.1, r4 dead
          */
         z.set(r2);
         z.mul(r4);
+
+        scaled = false;
     }
 
     /**
@@ -740,6 +806,8 @@ public abstract class
         z.set(r3);
         z.square();
         z.sub(r0);
+
+        scaled = false;
     }
 
     /**
@@ -914,6 +982,22 @@ public abstract class
          * r3.2, r4.1 dead
          */
         t.set(r3);
-        t.add(r4);
+        t.mul(r4);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses a signed fixed-window method, which stays in the
+     * Edwards coordinates throughout.
+     *
+     * @see FixedWindow
+     */
+    @Override
+    public void mul(final S scalar,
+                    final T scratch) {
+        FixedWindow.mul(this, scalar, scratch);
     }
 }
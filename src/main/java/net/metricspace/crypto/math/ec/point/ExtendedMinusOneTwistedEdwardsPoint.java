@@ -0,0 +1,1440 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.point;
+
+import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Extended twisted Edwards curve points, computed on an isomorphic
+ * curve with {@code a = -1}.  The curve {@code a * x^2 + y^2 = 1 + d *
+ * x^2 * y^2} is isomorphic to {@code -x'^2 + y^2 = 1 + d' * x'^2 *
+ * y^2}, where {@code x' = s * x}, {@code s^2 = -a}, and {@code d' =
+ * -d / a}, whenever {@code -a} is a square.  Points are held as a
+ * quad {@code (X', Y, Z, T')} on the second curve, which allows the
+ * faster {@code a = -1} formulas of Hisil, Koon-Ho, Carter, and
+ * Dawson from their paper, <a
+ * href="https://eprint.iacr.org/2008/522.pdf">"Twisted Edwards Curves
+ * Revisited"</a>.
+ * <p>
+ * The conversion is done at the boundary: Edwards and Montgomery
+ * coordinates are always given and returned on the original curve,
+ * with parameters {@link #edwardsA()} and {@link #edwardsD()}.
+ *
+ * @param <S> Scalar values.
+ * @param <P> Point type used as an argument.
+ */
+public abstract class
+    ExtendedMinusOneTwistedEdwardsPoint<
+        S extends PrimeField<S>,
+        P extends ExtendedMinusOneTwistedEdwardsPoint<S, P, T>,
+        T extends ExtendedMinusOneTwistedEdwardsPoint.Scratchpad<S>
+    >
+    extends ExtendedPoint<S, P, T>
+    implements MontgomeryLadder<S, P, T>,
+               TwistedEdwardsPoint<S, P, T> {
+    /**
+     * Superclass of scratchpads for {@code a = -1} twisted Edwards
+     * points.
+     */
+    public static abstract class Scratchpad<S extends PrimeField<S>>
+        extends MontgomeryLadder.Scratchpad<S> {
+        /**
+         * Register holding the X coordinate on the original curve,
+         * as returned by {@link #edwardsXScaledRef()}.  This is
+         * never used as a temporary.
+         */
+        public final S edwardsX;
+
+        /**
+         * Initialize a {@code Scratchpad}.
+         */
+        protected Scratchpad(final S r0,
+                             final S r1,
+                             final S r2,
+                             final S r3,
+                             final S r4,
+                             final S edwardsX,
+                             final int ndigits) {
+            super(r0, r1, r2, r3, r4, ndigits);
+
+            this.edwardsX = edwardsX;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            super.destroy();
+
+            edwardsX.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return super.isDestroyed() && edwardsX.isDestroyed();
+        }
+    }
+
+    /**
+     * Cached form of an {@code a = -1} extended point, which holds
+     * {@code (Y + X, Y - X, k * T, 2 * Z)}, where {@code k} is
+     * {@code 2 * d'}.  This is the form described by Niels.  All of
+     * these are computed once, rather than on every addition, which
+     * saves one multiplication per addition.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    protected static final class Niels<S extends PrimeField<S>,
+                                       P extends ExtendedPoint<S, P, T>,
+                                       T extends ECPoint.Scratchpad<S>>
+        implements ECPoint.Cached<S, P, T> {
+        /**
+         * {@code Y + X}.
+         */
+        protected final S ypx;
+
+        /**
+         * {@code Y - X}.
+         */
+        protected final S ymx;
+
+        /**
+         * {@code k * T}.
+         */
+        protected final S t2d;
+
+        /**
+         * {@code 2 * Z}.
+         */
+        protected final S z2;
+
+        /**
+         * Initialize a {@code Niels} point.  This takes possession of
+         * the parameters.
+         *
+         * @param ypx The value of {@code Y + X}.
+         * @param ymx The value of {@code Y - X}.
+         * @param t2d The value of {@code k * T}.
+         * @param z2 The value of {@code 2 * Z}.
+         */
+        protected Niels(final S ypx,
+                        final S ymx,
+                        final S t2d,
+                        final S z2) {
+            this.ypx = ypx;
+            this.ymx = ymx;
+            this.t2d = t2d;
+            this.z2 = z2;
+        }
+
+        /**
+         * Set {@code out} to {@code value} if {@code bit} is {@code
+         * 1}, in constant time.
+         *
+         * @param out The value to set.
+         * @param value The value to which to set it.
+         * @param bit {@code 1} to set {@code out}, {@code 0} to leave
+         *            it as is.
+         * @param tmp A temporary.
+         */
+        private static <S extends PrimeField<S>> void select(final S out,
+                                                             final S value,
+                                                             final long bit,
+                                                             final S tmp) {
+            tmp.set(value);
+            tmp.mask(bit);
+            out.mask(bit ^ 0x1);
+            out.or(tmp);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(final long bit,
+                        final ECPoint.Cached<S, P, T> other,
+                        final T scratch) {
+            final Niels<S, P, T> niels = (Niels<S, P, T>)other;
+            final S r0 = scratch.r0;
+
+            select(ypx, niels.ypx, bit, r0);
+            select(ymx, niels.ymx, bit, r0);
+            select(t2d, niels.t2d, bit, r0);
+            select(z2, niels.z2, bit, r0);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset(final T scratch) {
+            /* The zero point is (0, 1, 1, 0) */
+            ypx.set(1);
+            ymx.set(1);
+            t2d.set(0);
+            z2.set(2);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void neg(final long bit,
+                        final T scratch) {
+            /* Negating X and T swaps Y + X with Y - X */
+            final S r0 = scratch.r0;
+            final S r1 = scratch.r1;
+
+            r1.set(ypx);
+            select(ypx, ymx, bit, r0);
+            select(ymx, r1, bit, r0);
+            r1.set(t2d);
+            r1.neg();
+            select(t2d, r1, bit, r0);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Niels<S, P, T> clone() {
+            return new Niels<>(ypx.clone(), ymx.clone(), t2d.clone(),
+                               z2.clone());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            ypx.destroy();
+            ymx.destroy();
+            t2d.destroy();
+            z2.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return ypx.isDestroyed() && ymx.isDestroyed() &&
+                   t2d.isDestroyed() && z2.isDestroyed();
+        }
+    }
+
+    /**
+     * Initialize an {@code ExtendedMinusOneTwistedEdwardsPoint} with
+     * four scalar objects.  These are the coordinates on the {@code a
+     * = -1} curve.
+     *
+     * @param x The scalar object for x'.
+     * @param y The scalar object for y.
+     * @param z The scalar object for z.
+     * @param t The scalar object for t'.
+     */
+    protected ExtendedMinusOneTwistedEdwardsPoint(final S x,
+                                                  final S y,
+                                                  final S z,
+                                                  final S t) {
+        super(x, y, z, t);
+    }
+
+    /**
+     * Get a direct reference to the value {@code s}, where {@code x' =
+     * s * x} and {@code s^2 = -a}.  This must not be modified.
+     *
+     * @return The value {@code s}.
+     */
+    protected abstract S isomorphismRef();
+
+    /**
+     * Get a direct reference to the value {@code 1 / s}, where
+     * {@code x' = s * x} and {@code s^2 = -a}.  This must not be
+     * modified.
+     *
+     * @return The value {@code 1 / s}.
+     */
+    protected abstract S isomorphismInverseRef();
+
+    /**
+     * Get a direct reference to the value {@code k = 2 * d'}, where
+     * {@code d' = -d / a} is the parameter of the {@code a = -1}
+     * curve.  This must not be modified.
+     *
+     * @return The value {@code k}.
+     */
+    protected abstract S edwardsKRef();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long onCurve(final T scratch) {
+        /* 2 * (Y^2 - X'^2) * Z^2 = 2 * Z^4 + k * X'^2 * Y^2,
+         * X' * Y = T' * Z, and Z != 0
+         */
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+
+        /* r0.1 = X'^2 */
+        r0.set(x);
+        r0.square();
+
+        /* r1.1 = Y^2 */
+        r1.set(y);
+        r1.square();
+
+        /* r2.1 = 2 * (r1.1 - r0.1) */
+        r2.set(r1);
+        r2.sub(r0);
+        r2.mul(2);
+
+        /* r0.2 = k * r0.1 * r1.1 */
+        r0.mul(r1);
+        r0.mul(edwardsKRef());
+
+        /* r1.2 = Z^2 */
+        r1.set(z);
+        r1.square();
+
+        /* r2.2 = r2.1 * r1.2 */
+        r2.mul(r1);
+
+        /* r1.3 = 2 * r1.2^2 + r0.2 */
+        r1.square();
+        r1.mul(2);
+        r1.add(r0);
+
+        /* r2.3 = r2.2 - r1.3 */
+        r2.sub(r1);
+
+        /* r0.3 = X' * Y - T' * Z */
+        r0.set(x);
+        r0.mul(y);
+        r3.set(t);
+        r3.mul(z);
+        r0.sub(r3);
+
+        return r2.isZero() & r0.isZero() & (z.isZero() ^ 0x1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void montgomeryProjective(final S xnum,
+                                     final S xdenom,
+                                     final S ynum,
+                                     final S ydenom) {
+        /* v = u / x = s * u / x' */
+        super.montgomeryProjective(xnum, xdenom, ynum, ydenom);
+        ynum.mul(isomorphismRef());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMontgomery(final S u,
+                              final S v,
+                              final S w,
+                              final T scratch) {
+        super.setMontgomery(u, v, w, scratch);
+
+        /* X' = s * X, T' = s * T */
+        x.mul(isomorphismRef());
+        t.mul(isomorphismRef());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEdwards(final S x,
+                           final S y) {
+        super.setEdwards(x, y);
+
+        /* X' = s * X, T' = s * T */
+        this.x.mul(isomorphismRef());
+        t.mul(isomorphismRef());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEdwards(final S xnum,
+                           final S xdenom,
+                           final S ynum,
+                           final S ydenom) {
+        super.setEdwards(xnum, xdenom, ynum, ydenom);
+
+        /* X' = s * X, T' = s * T */
+        x.mul(isomorphismRef());
+        t.mul(isomorphismRef());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The X coordinate is not held directly, so this computes {@code
+     * X' / s} into the {@link Scratchpad#edwardsX} register of this
+     * thread's scratchpad, which remains valid until the next call.
+     */
+    @Override
+    public S edwardsXScaledRef() {
+        final S out = scratchpad().edwardsX;
+
+        out.set(x);
+        out.mul(isomorphismInverseRef());
+
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S edwardsXScaled() {
+        final S out = x.clone();
+
+        out.mul(isomorphismInverseRef());
+
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S montgomeryYScaledRef(final T scratch) {
+        /* v = (1 + y) / ((1 - y) * x), with x = X' / s */
+        final S v = scratch.r0;
+        final S denom = scratch.r1;
+
+        v.set(y);
+        denom.set(y);
+        denom.sub(1);
+        denom.neg();
+        denom.mul(x);
+        denom.mul(isomorphismInverseRef());
+        denom.inv();
+        v.add(1);
+        v.mul(denom);
+
+        return v;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void suadd(final P point,
+                            final T scratch) {
+        add(point, scratch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void add(final P point,
+                          final T scratch) {
+        if (point.scaled) {
+            /* Z2 = 1, so use a mixed addition */
+            if (scaled) {
+                mmadd(point, scratch);
+            } else {
+                madd(point, scratch);
+            }
+
+            return;
+        }
+
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#addition-add-2008-hwcd-3
+         *
+         * A = (Y1 - X1) * (Y2 - X2)
+         * B = (Y1 + X1) * (Y2 + X2)
+         * C = T1 * k * T2
+         * D = Z1 * 2 * Z2
+         * E = B - A
+         * F = D - C
+         * G = D + C
+         * H = B + A
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = F * G
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = C
+         * r3 = D
+         * r4 = E
+         * r1.1 = H
+         * r0.1 = F
+         * r3.1 = G
+         *
+         * Final formula:
+         *
+         * r0 = (Y1 - X1) * (Y2 - X2)
+         * r1 = (Y1 + X1) * (Y2 + X2)
+         * r2 = T1 * k * T2
+         * r3 = Z1 * 2 * Z2
+         * r4 = r1 - r0
+         * r1.1 = r1 + r0
+         * r0.1 = r3 - r2
+         * r3.1 = r3 + r2
+         * X3 = r4 * r0.1
+         * Y3 = r3.1 * r1.1
+         * T3 = r4 * r1.1
+         * Z3 = r0.1 * r3.1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = (Y1 - X1) * (Y2 - X2) */
+        r0.set(y);
+        r0.sub(x);
+        r4.set(point.y);
+        r4.sub(point.x);
+        r0.mul(r4);
+
+        /* r1 = (Y1 + X1) * (Y2 + X2) */
+        r1.set(y);
+        r1.add(x);
+        r4.set(point.y);
+        r4.add(point.x);
+        r1.mul(r4);
+
+        /* r2 = T1 * k * T2 */
+        r2.set(t);
+        r2.mul(edwardsKRef());
+        r2.mul(point.t);
+
+        /* r3 = Z1 * 2 * Z2 */
+        r3.set(z);
+        r3.mul(2);
+        r3.mul(point.z);
+
+        /* r4 = r1 - r0 */
+        r4.set(r1);
+        r4.sub(r0);
+
+        /* r1.1 = r1 + r0 */
+        r1.add(r0);
+
+        /* r0.1 = r3 - r2 */
+        r0.set(r3);
+        r0.sub(r2);
+
+        /* r3.1 = r3 + r2,
+         * r2 dead
+         */
+        r3.add(r2);
+
+        /* X3 = r4 * r0.1 */
+        x.set(r4);
+        x.mul(r0);
+
+        /* Y3 = r3.1 * r1.1 */
+        y.set(r3);
+        y.mul(r1);
+
+        /* T3 = r4 * r1.1,
+         * r4, r1.1 dead
+         */
+        t.set(r4);
+        t.mul(r1);
+
+        /* Z3 = r0.1 * r3.1,
+         * r0.1, r3.1 dead
+         */
+        z.set(r0);
+        z.mul(r3);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ECPoint.Cached<S, P, T> cache(final T scratch) {
+        final S ypx = y.clone();
+        final S ymx = y.clone();
+        final S t2d = t.clone();
+        final S z2 = z.clone();
+
+        ypx.add(x);
+        ymx.sub(x);
+        t2d.mul(edwardsKRef());
+        z2.add(z);
+
+        return new Niels<>(ypx, ymx, t2d, z2);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void add(final ECPoint.Cached<S, P, T> cached,
+                          final T scratch) {
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#addition-add-2008-hwcd-3
+         *
+         * using the cached values YPX = Y2 + X2, YMX = Y2 - X2,
+         * T2D = k * T2, Z2Z = 2 * Z2:
+         *
+         * A = (Y1 - X1) * YMX
+         * B = (Y1 + X1) * YPX
+         * C = T1 * T2D
+         * D = Z1 * Z2Z
+         * E = B - A
+         * F = D - C
+         * G = D + C
+         * H = B + A
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = F * G
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = C
+         * r3 = D
+         * r4 = E
+         * r1.1 = H
+         * r0.1 = F
+         * r3.1 = G
+         *
+         * Final formula:
+         *
+         * r0 = (Y1 - X1) * YMX
+         * r1 = (Y1 + X1) * YPX
+         * r2 = T1 * T2D
+         * r3 = Z1 * Z2Z
+         * r4 = r1 - r0
+         * r1.1 = r1 + r0
+         * r0.1 = r3 - r2
+         * r3.1 = r3 + r2
+         * X3 = r4 * r0.1
+         * Y3 = r3.1 * r1.1
+         * T3 = r4 * r1.1
+         * Z3 = r0.1 * r3.1
+         */
+        final Niels<S, P, T> point = (Niels<S, P, T>)cached;
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = (Y1 - X1) * YMX */
+        r0.set(y);
+        r0.sub(x);
+        r0.mul(point.ymx);
+
+        /* r1 = (Y1 + X1) * YPX */
+        r1.set(y);
+        r1.add(x);
+        r1.mul(point.ypx);
+
+        /* r2 = T1 * T2D */
+        r2.set(t);
+        r2.mul(point.t2d);
+
+        /* r3 = Z1 * Z2Z */
+        r3.set(z);
+        r3.mul(point.z2);
+
+        /* r4 = r1 - r0 */
+        r4.set(r1);
+        r4.sub(r0);
+
+        /* r1.1 = r1 + r0 */
+        r1.add(r0);
+
+        /* r0.1 = r3 - r2 */
+        r0.set(r3);
+        r0.sub(r2);
+
+        /* r3.1 = r3 + r2,
+         * r2 dead
+         */
+        r3.add(r2);
+
+        /* X3 = r4 * r0.1 */
+        x.set(r4);
+        x.mul(r0);
+
+        /* Y3 = r3.1 * r1.1 */
+        y.set(r3);
+        y.mul(r1);
+
+        /* T3 = r4 * r1.1,
+         * r4, r1.1 dead
+         */
+        t.set(r4);
+        t.mul(r1);
+
+        /* Z3 = r0.1 * r3.1,
+         * r0.1, r3.1 dead
+         */
+        z.set(r0);
+        z.mul(r3);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void madd(final P point,
+                           final T scratch) {
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#addition-madd-2008-hwcd-3
+         *
+         * A = (Y1 - X1) * (Y2 - X2)
+         * B = (Y1 + X1) * (Y2 + X2)
+         * C = T1 * k * T2
+         * D = 2 * Z1
+         * E = B - A
+         * F = D - C
+         * G = D + C
+         * H = B + A
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = F * G
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = C
+         * r3 = D
+         * r4 = E
+         * r1.1 = H
+         * r0.1 = F
+         * r3.1 = G
+         *
+         * Final formula:
+         *
+         * r0 = (Y1 - X1) * (Y2 - X2)
+         * r1 = (Y1 + X1) * (Y2 + X2)
+         * r2 = T1 * k * T2
+         * r3 = 2 * Z1
+         * r4 = r1 - r0
+         * r1.1 = r1 + r0
+         * r0.1 = r3 - r2
+         * r3.1 = r3 + r2
+         * X3 = r4 * r0.1
+         * Y3 = r3.1 * r1.1
+         * T3 = r4 * r1.1
+         * Z3 = r0.1 * r3.1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = (Y1 - X1) * (Y2 - X2) */
+        r0.set(y);
+        r0.sub(x);
+        r4.set(point.y);
+        r4.sub(point.x);
+        r0.mul(r4);
+
+        /* r1 = (Y1 + X1) * (Y2 + X2) */
+        r1.set(y);
+        r1.add(x);
+        r4.set(point.y);
+        r4.add(point.x);
+        r1.mul(r4);
+
+        /* r2 = T1 * k * T2 */
+        r2.set(t);
+        r2.mul(edwardsKRef());
+        r2.mul(point.t);
+
+        /* r3 = 2 * Z1 */
+        r3.set(z);
+        r3.mul(2);
+
+        /* r4 = r1 - r0 */
+        r4.set(r1);
+        r4.sub(r0);
+
+        /* r1.1 = r1 + r0 */
+        r1.add(r0);
+
+        /* r0.1 = r3 - r2 */
+        r0.set(r3);
+        r0.sub(r2);
+
+        /* r3.1 = r3 + r2,
+         * r2 dead
+         */
+        r3.add(r2);
+
+        /* X3 = r4 * r0.1 */
+        x.set(r4);
+        x.mul(r0);
+
+        /* Y3 = r3.1 * r1.1 */
+        y.set(r3);
+        y.mul(r1);
+
+        /* T3 = r4 * r1.1,
+         * r4, r1.1 dead
+         */
+        t.set(r4);
+        t.mul(r1);
+
+        /* Z3 = r0.1 * r3.1,
+         * r0.1, r3.1 dead
+         */
+        z.set(r0);
+        z.mul(r3);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void mmadd(final P point,
+                            final T scratch) {
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#addition-mmadd-2008-hwcd-3
+         *
+         * A = (Y1 - X1) * (Y2 - X2)
+         * B = (Y1 + X1) * (Y2 + X2)
+         * C = T1 * k * T2
+         * E = B - A
+         * F = 2 - C
+         * G = 2 + C
+         * H = B + A
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = 4 - C^2
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = C
+         * r4 = E
+         * r1.1 = H
+         * r0.1 = F
+         * r3 = G
+         *
+         * Final formula:
+         *
+         * r0 = (Y1 - X1) * (Y2 - X2)
+         * r1 = (Y1 + X1) * (Y2 + X2)
+         * r2 = T1 * k * T2
+         * r4 = r1 - r0
+         * r1.1 = r1 + r0
+         * r0.1 = 2 - r2
+         * r3 = 2 + r2
+         * X3 = r4 * r0.1
+         * Y3 = r3 * r1.1
+         * T3 = r4 * r1.1
+         * Z3 = 4 - r2^2
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = (Y1 - X1) * (Y2 - X2) */
+        r0.set(y);
+        r0.sub(x);
+        r4.set(point.y);
+        r4.sub(point.x);
+        r0.mul(r4);
+
+        /* r1 = (Y1 + X1) * (Y2 + X2) */
+        r1.set(y);
+        r1.add(x);
+        r4.set(point.y);
+        r4.add(point.x);
+        r1.mul(r4);
+
+        /* r2 = T1 * k * T2 */
+        r2.set(t);
+        r2.mul(edwardsKRef());
+        r2.mul(point.t);
+
+        /* r4 = r1 - r0 */
+        r4.set(r1);
+        r4.sub(r0);
+
+        /* r1.1 = r1 + r0 */
+        r1.add(r0);
+
+        /* r0.1 = 2 - r2 */
+        r0.set(r2);
+        r0.neg();
+        r0.add(2);
+
+        /* r3 = 2 + r2 */
+        r3.set(r2);
+        r3.add(2);
+
+        /* X3 = r4 * r0.1,
+         * r0.1 dead
+         */
+        x.set(r4);
+        x.mul(r0);
+
+        /* Y3 = r3 * r1.1,
+         * r3 dead
+         */
+        y.set(r3);
+        y.mul(r1);
+
+        /* T3 = r4 * r1.1,
+         * r4, r1.1 dead
+         */
+        t.set(r4);
+        t.mul(r1);
+
+        /* Z3 = 4 - r2^2,
+         * r2 dead
+         */
+        z.set(r2);
+        z.square();
+        z.neg();
+        z.add(4);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void dbl(final T scratch) {
+        if (scaled) {
+            /* Z1 = 1, so use a mixed doubling */
+            mdbl(scratch);
+
+            return;
+        }
+
+        dblXYZ(scratch);
+
+        /* T3 = r4 * r3 */
+        t.set(scratch.r4);
+        t.mul(scratch.r3);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void dbl(final int n,
+                          final T scratch) {
+        if (n <= 0) {
+            return;
+        }
+
+        if (n == 1 || scaled) {
+            dbl(scratch);
+            dbl(n - 1, scratch);
+
+            return;
+        }
+
+        /* The doubling formula does not read T1, so only the last
+         * doubling in the chain needs to compute T3.
+         */
+        for(int i = 0; i < n; i++) {
+            dblXYZ(scratch);
+        }
+
+        /* T3 = r4 * r3 */
+        t.set(scratch.r4);
+        t.mul(scratch.r3);
+    }
+
+    /**
+     * Double this point, computing only {@code X}, {@code Y}, and
+     * {@code Z}.  This leaves {@code E} in {@code r4} and {@code H}
+     * in {@code r3}, so that {@code T3 = E * H} can be computed
+     * afterward.  The value of {@code T} is not updated.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    private void dblXYZ(final T scratch) {
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#doubling-dbl-2008-hwcd
+         *
+         * A = X1^2
+         * B = Y1^2
+         * C = 2 * Z1^2
+         * D = -A
+         * E = (X1 + Y1)^2 - A - B
+         * G = D + B
+         * F = G - C
+         * H = D - B
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = F * G
+         *
+         * Rewritten slightly as:
+         *
+         * A = X1^2
+         * B = Y1^2
+         * C = -2 * Z1^2
+         * D = -A
+         * E = (X1 + Y1)^2 - A - B
+         * G = D + B
+         * F = G + C
+         * H = D - B
+         * X3 = E * F
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = F * G
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = C
+         * r3 = D
+         * r4 = E
+         * r0.1 = G
+         * r2.1 = F
+         * r3.1 = H
+         *
+         * Final formula:
+         *
+         * r0 = X1^2
+         * r1 = Y1^2
+         * r2 = -2 * Z1^2
+         * r3 = -r0
+         * r4 = (X1 + Y1)^2 - r0 - r1
+         * r0.1 = r3 + r1
+         * r2.1 = r0.1 + r2
+         * r3.1 = r3 - r1
+         * X3 = r4 * r2.1
+         * Y3 = r0.1 * r3.1
+         * T3 = r4 * r3.1
+         * Z3 = r2.1 * r0.1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = X1^2 */
+        r0.set(x);
+        r0.square();
+
+        /* r1 = Y1^2 */
+        r1.set(y);
+        r1.square();
+
+        /* r2 = -2 * Z1^2 */
+        r2.set(z);
+        r2.square();
+        r2.mul(-2);
+
+        /* r3 = -r0 */
+        r3.set(r0);
+        r3.neg();
+
+        /* r4 = (X1 + Y1)^2 - r0 - r1,
+         * r0 dead
+         */
+        r4.set(x);
+        r4.add(y);
+        r4.square();
+        r4.sub(r0);
+        r4.sub(r1);
+
+        /* r0.1 = r3 + r1 */
+        r0.set(r3);
+        r0.add(r1);
+
+        /* r2.1 = r0.1 + r2,
+         * r2 dead
+         */
+        r2.add(r0);
+
+        /* r3.1 = r3 - r1,
+         * r1, r3 dead
+         */
+        r3.sub(r1);
+
+        /* X3 = r4 * r2.1 */
+        x.set(r4);
+        x.mul(r2);
+
+        /* Y3 = r0.1 * r3.1 */
+        y.set(r0);
+        y.mul(r3);
+
+        /* Z3 = r2.1 * r0.1,
+         * r0.1, r2.1 dead
+         */
+        z.set(r2);
+        z.mul(r0);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void mdbl(final T scratch) {
+        /* Formula from
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#doubling-mdbl-2008-hwcd
+         *
+         * A = X1^2
+         * B = Y1^2
+         * D = -A
+         * E = (X1 + Y1)^2 - A - B
+         * G = D + B
+         * H = D - B
+         * X3 = E * (G - 2)
+         * Y3 = G * H
+         * T3 = E * H
+         * Z3 = G^2 - 2 * G
+         *
+         * Rewritten slightly as:
+         *
+         * A = X1^2
+         * B = Y1^2
+         * D = -A
+         * E = (X1 + Y1)^2 - A - B
+         * G = D + B
+         * H = D - B
+         * X3 = E * (G - 2)
+         * Y3 = G * H
+         * T3 = E * H
+         * S = 2 * G
+         * Z3 = G^2 - S
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = A
+         * r1 = B
+         * r2 = D
+         * r3 = E
+         * r0.1 = G
+         * r2.1 = H
+         * r1.1 = S
+         *
+         * Final formula:
+         *
+         * r0 = X1^2
+         * r1 = Y1^2
+         * r2 = -r0
+         * r3 = (X1 + Y1)^2 - r0 - r1
+         * r0.1 = r2 + r1
+         * r2.1 = r2 - r1
+         * X3 = r3 * (r0.1 - 2)
+         * Y3 = r0.1 * r2.1
+         * T3 = r3 * r2.1
+         * r1.1 = 2 * r0.1
+         * Z3 = r0.1^2 - r1.1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+
+        /* r0 = X1^2 */
+        r0.set(x);
+        r0.square();
+
+        /* r1 = Y1^2 */
+        r1.set(y);
+        r1.square();
+
+        /* r2 = -r0 */
+        r2.set(r0);
+        r2.neg();
+
+        /* r3 = (X1 + Y1)^2 - r0 - r1,
+         * r0 dead
+         */
+        r3.set(x);
+        r3.add(y);
+        r3.square();
+        r3.sub(r0);
+        r3.sub(r1);
+
+        /* r0.1 = r2 + r1 */
+        r0.set(r2);
+        r0.add(r1);
+
+        /* r2.1 = r2 - r1,
+         * r1, r2 dead
+         */
+        r2.sub(r1);
+
+        /* X3 = (r0.1 - 2) * r3 */
+        x.set(r0);
+        x.sub(2);
+        x.mul(r3);
+
+        /* Y3 = r0.1 * r2.1 */
+        y.set(r0);
+        y.mul(r2);
+
+        /* T3 = r3 * r2.1,
+         * r2.1, r3 dead
+         */
+        t.set(r3);
+        t.mul(r2);
+
+        /* r1.1 = r0.1 * 2 */
+        r1.set(r0);
+        r1.mul(2);
+
+        /* Z3 = r0.1^2 - r1.1 */
+        z.set(r0);
+        z.square();
+        z.sub(r1);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void tpl(final T scratch) {
+        /* Formula from:
+         * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended-1.html#tripling-tpl-2015-c
+         *
+         * YY = Y1^2
+         * aXX = -X1^2
+         * Ap = YY + aXX
+         * B = 2 * (2 * Z1^2 - Ap)
+         * xB = aXX * B
+         * yB = YY * B
+         * AA = Ap * (YY - aXX)
+         * F = AA - yB
+         * G = AA + xB
+         * xE = X1 * (yB + AA)
+         * yH = Y1 * (xB - AA)
+         * zF = Z1 * F
+         * zG = Z1 * G
+         * X3 = xE * zF
+         * Y3 = yH * zG
+         * Z3 = zF * zG
+         * T3 = xE * yH
+         *
+         * Manual register allocation produces the following substitutions:
+         *
+         * r0 = YY
+         * r1 = aXX
+         * r2 = Ap
+         * r3 = B
+         * r4 = xB
+         * r3.1 = yB
+         * r0.1 = AA
+         * r1.1 = F
+         * r2.1 = G
+         * r3.2 = xE
+         * r4.1 = yH
+         * r1.2 = zF
+         * r2.2 = zG
+         *
+         * Final formula:
+         *
+         * r0 = Y1^2
+         * r1 = -X1^2
+         * r2 = r0 + r1
+         * r3 = 2 * (2 * Z1^2 - r2)
+         * r4 = r1 * r3
+         * r3.1 = r0 * r3
+         * r0.1 = r2 * (r0 - r1)
+         * r1.1 = r0.1 - r3.1
+         * r2.1 = r0.1 + r4
+         * r3.2 = X1 * (r3.1 + r0.1)
+         * r4.1 = Y1 * (r4 - r0.1)
+         * r1.2 = Z1 * r1.1
+         * r2.2 = Z1 * r2.1
+         * X3 = r3.2 * r1.2
+         * Y3 = r4.1 * r2.2
+         * Z3 = r1.2 * r2.2
+         * T3 = r3.2 * r4.1
+         */
+
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+        final S r3 = scratch.r3;
+        final S r4 = scratch.r4;
+
+        /* r0 = Y1^2 */
+        r0.set(y);
+        r0.square();
+
+        /* r1 = -X1^2 */
+        r1.set(x);
+        r1.square();
+        r1.neg();
+
+        /* r2 = r0 + r1 */
+        r2.set(r0);
+        r2.add(r1);
+
+        /* r3 = (Z1^2 * 2 - r2) * 2 */
+        r3.set(z);
+        r3.square();
+        r3.mul(2);
+        r3.sub(r2);
+        r3.mul(2);
+
+        /* r4 = r1 * r3 */
+        r4.set(r1);
+        r4.mul(r3);
+
+        /* r3.1 = r3 * r0,
+         * r3 dead
+         */
+        r3.mul(r0);
+
+        /* r0.1 = (r0 - r1) * r2,
+         * r0, r1, r2 dead
+         */
+        r0.sub(r1);
+        r0.mul(r2);
+
+        /* r1.1 = r0.1 - r3.1 */
+        r1.set(r0);
+        r1.sub(r3);
+
+        /* r2.1 = r0.1 + r4 */
+        r2.set(r0);
+        r2.add(r4);
+
+        /* r3.2 = (r3.1 + r0.1) * X1,
+         * r3.1 dead
+         */
+        r3.add(r0);
+        r3.mul(x);
+
+        /* r4.1 = (r4 - r0.1) * Y1,
+         * r0.1, r4 dead
+         */
+        r4.sub(r0);
+        r4.mul(y);
+
+        /* r1.2 = Z1 * r1.1,
+         * r1.1 dead
+         */
+        r1.mul(z);
+
+        /* r2.2 = Z1 * r2.1,
+         * r2.1 dead
+         */
+        r2.mul(z);
+
+        /* X3 = r3.2 * r1.2 */
+        x.set(r3);
+        x.mul(r1);
+
+        /* Y3 = r4.1 * r2.2 */
+        y.set(r4);
+        y.mul(r2);
+
+        /* Z3 = r1.2 * r2.2,
+         * r1.2, r2.2 dead
+         */
+        z.set(r1);
+        z.mul(r2);
+
+        /* T3 = r3.2 * r4.1,
+         * r3.2, r4.1 dead
+         */
+        t.set(r3);
+        t.mul(r4);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses a signed fixed-window method, which stays in the
+     * Edwards coordinates throughout.
+     *
+     * @see FixedWindow
+     */
+    @Override
+    public void mul(final S scalar,
+                    final T scratch) {
+        FixedWindow.mul(this, scalar, scratch);
+    }
+}
@@ -116,6 +116,26 @@ public abstract class ExtendedPoint<S extends PrimeField<S>,
 
         z.set(1);
         t.mul(y);
+        scaled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long onCurve(final T scratch) {
+        final long valid = super.onCurve(scratch);
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+
+        /* X * Y = T * Z */
+        r0.set(x);
+        r0.mul(y);
+        r1.set(t);
+        r1.mul(z);
+        r0.sub(r1);
+
+        return valid & r0.isZero();
     }
 
     /**
@@ -123,7 +143,18 @@ public abstract class ExtendedPoint<S extends PrimeField<S>,
      */
     @Override
     public void scale() {
-        super.scale();
+        if (!scaled) {
+            super.scale();
+            setTScaled();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scale(final S inverse) {
+        super.scale(inverse);
         setTScaled();
     }
 
@@ -138,6 +169,22 @@ public abstract class ExtendedPoint<S extends PrimeField<S>,
         t.mask(bit ^ 0x1);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void neg(final long bit,
+                    final T scratch) {
+        final S r0 = scratch.r0;
+
+        super.neg(bit, scratch);
+        r0.set(t);
+        r0.neg();
+        r0.mask(bit);
+        t.mask(bit ^ 0x1);
+        t.or(r0);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -156,6 +203,39 @@ public abstract class ExtendedPoint<S extends PrimeField<S>,
         t.set(point.t);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(final long bit,
+                    final P point,
+                    final T scratch) {
+        final S r0 = scratch.r0;
+
+        super.set(bit, point, scratch);
+        r0.set(point.t);
+        r0.mask(bit);
+        t.mask(bit ^ 0x1);
+        t.or(r0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMontgomery(final S u,
+                              final S v,
+                              final S w,
+                              final T scratch) {
+        super.setMontgomery(u, v, w, scratch);
+
+        /* T = U * (U - W), or 0 when V = 0 */
+        t.set(u);
+        t.sub(w);
+        t.mul(u);
+        t.mask(v.isZero() ^ 0x1);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -166,6 +246,21 @@ public abstract class ExtendedPoint<S extends PrimeField<S>,
         t.mul(y);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEdwards(final S xnum,
+                           final S xdenom,
+                           final S ynum,
+                           final S ydenom) {
+        super.setEdwards(xnum, xdenom, ynum, ydenom);
+
+        /* T = xnum * ynum */
+        t.set(xnum);
+        t.mul(ynum);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -35,6 +35,7 @@ import javax.security.auth.Destroyable;
 
 import net.metricspace.crypto.math.ec.curve.TwistedEdwardsCurve;
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -140,6 +141,17 @@ public abstract class
     @Override
     public final void add(final P point,
                           final T scratch) {
+        if (point.scaled) {
+            /* Z2 = 1, so use a mixed addition */
+            if (scaled) {
+                mmadd(point, scratch);
+            } else {
+                madd(point, scratch);
+            }
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended.html#addition-add-2008-hwcd
          *
@@ -264,6 +276,8 @@ public abstract class
         /* Z3 = r1.1 * r3.1 */
         z.set(r1);
         z.mul(r3);
+
+        scaled = false;
     }
 
     /**
@@ -388,6 +402,8 @@ public abstract class
         /* Z3 = r1.1 * r2.1 */
         z.set(r1);
         z.mul(r2);
+
+        scaled = false;
     }
 
     /**
@@ -516,6 +532,8 @@ public abstract class
         /* Z3 = 1 - r2.1 */
         z.set(1);
         z.sub(r2);
+
+        scaled = false;
     }
 
     /**
@@ -523,6 +541,58 @@ public abstract class
      */
     @Override
     public final void dbl(final T scratch) {
+        if (scaled) {
+            /* Z1 = 1, so use a mixed doubling */
+            mdbl(scratch);
+
+            return;
+        }
+
+        dblXYZ(scratch);
+
+        /* T3 = r4 * r3 */
+        t.set(scratch.r4);
+        t.mul(scratch.r3);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void dbl(final int n,
+                          final T scratch) {
+        if (n <= 0) {
+            return;
+        }
+
+        if (n == 1 || scaled) {
+            dbl(scratch);
+            dbl(n - 1, scratch);
+
+            return;
+        }
+
+        /* The doubling formula does not read T1, so only the last
+         * doubling in the chain needs to compute T3.
+         */
+        for(int i = 0; i < n; i++) {
+            dblXYZ(scratch);
+        }
+
+        /* T3 = r4 * r3 */
+        t.set(scratch.r4);
+        t.mul(scratch.r3);
+    }
+
+    /**
+     * Double this point, computing only {@code X}, {@code Y}, and
+     * {@code Z}.  This leaves {@code E} in {@code r4} and {@code H}
+     * in {@code r3}, so that {@code T3 = E * H} can be computed
+     * afterward.  The value of {@code T} is not updated.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    private void dblXYZ(final T scratch) {
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-extended.html#doubling-dbl-2008-hwcd
          *
@@ -635,17 +705,13 @@ public abstract class
         y.set(r0);
         y.mul(r3);
 
-        /* T3 = r4 * r3.1,
-         * r4, r3.1 dead
-         */
-        t.set(r4);
-        t.mul(r3);
-
         /* Z3 = r2.1 * r0.1,
          * r0.1, r2.1 dead
          */
         z.set(r2);
         z.mul(r0);
+
+        scaled = false;
     }
 
     /**
@@ -764,6 +830,8 @@ public abstract class
         z.set(r0);
         z.square();
         z.sub(r1);
+
+        scaled = false;
     }
 
     /**
@@ -919,5 +987,21 @@ public abstract class
          */
         t.set(r3);
         t.mul(r4);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses a signed fixed-window method, which stays in the
+     * Edwards coordinates throughout.
+     *
+     * @see FixedWindow
+     */
+    @Override
+    public void mul(final S scalar,
+                    final T scratch) {
+        FixedWindow.mul(this, scalar, scratch);
     }
 }
@@ -133,8 +133,12 @@ public class M221ExtendedPoint
      */
     @Override
     public M221ExtendedPoint clone() {
-        return new M221ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final M221ExtendedPoint out =
+            new M221ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
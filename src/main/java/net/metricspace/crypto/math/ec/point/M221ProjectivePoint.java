@@ -131,7 +131,12 @@ public class M221ProjectivePoint
      */
     @Override
     public M221ProjectivePoint clone() {
-        return new M221ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final M221ProjectivePoint out =
+            new M221ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
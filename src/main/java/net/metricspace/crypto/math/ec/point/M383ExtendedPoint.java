@@ -132,8 +132,12 @@ public class M383ExtendedPoint
      */
     @Override
     public M383ExtendedPoint clone() {
-        return new M383ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final M383ExtendedPoint out =
+            new M383ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -131,7 +131,12 @@ public class M383ProjectivePoint
      */
     @Override
     public M383ProjectivePoint clone() {
-        return new M383ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final M383ProjectivePoint out =
+            new M383ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
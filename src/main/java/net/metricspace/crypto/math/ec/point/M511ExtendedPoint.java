@@ -134,8 +134,12 @@ public class M511ExtendedPoint
      */
     @Override
     public M511ExtendedPoint clone() {
-        return new M511ExtendedPoint(x.clone(), y.clone(),
-                                     z.clone(), t.clone());
+        final M511ExtendedPoint out =
+            new M511ExtendedPoint(x.clone(), y.clone(), z.clone(), t.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
@@ -131,7 +131,12 @@ public class M511ProjectivePoint
      */
     @Override
     public M511ProjectivePoint clone() {
-        return new M511ProjectivePoint(x.clone(), y.clone(), z.clone());
+        final M511ProjectivePoint out =
+            new M511ProjectivePoint(x.clone(), y.clone(), z.clone());
+
+        out.scaled = scaled;
+
+        return out;
     }
 
     /**
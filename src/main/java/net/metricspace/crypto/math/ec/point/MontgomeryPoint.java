@@ -212,6 +212,38 @@ public interface MontgomeryPoint<S extends PrimeField<S>,
      */
     public S montgomeryYScaledRef(final T scratch);
 
+    /**
+     * Get the Montgomery coordinates of this point as a pair of
+     * fractions, without performing any inversions.  The Montgomery
+     * X coordinate is {@code xnum / xdenom}, and the Y coordinate is
+     * {@code ynum / ydenom}.  This does not require the point to be
+     * scaled.
+     *
+     * @param xnum Set to the numerator of the X coordinate.
+     * @param xdenom Set to the denominator of the X coordinate.
+     * @param ynum Set to the numerator of the Y coordinate.
+     * @param ydenom Set to the denominator of the Y coordinate.
+     */
+    public void montgomeryProjective(final S xnum,
+                                     final S xdenom,
+                                     final S ynum,
+                                     final S ydenom);
+
+    /**
+     * Set the point from projective Montgomery coordinates {@code
+     * (X, Y, Z)}, where {@code X / Z} and {@code Y / Z} are the
+     * Montgomery coordinates.  This does not perform any inversions.
+     *
+     * @param x The projective Montgomery X coordinate.
+     * @param y The projective Montgomery Y coordinate.
+     * @param z The projective Montgomery Z coordinate.
+     * @param scratch The scratchpad to use.
+     */
+    public void setMontgomery(final S x,
+                              final S y,
+                              final S z,
+                              final T scratch);
+
     /**
      * Set the point from its Montgomery coordinates.
      *
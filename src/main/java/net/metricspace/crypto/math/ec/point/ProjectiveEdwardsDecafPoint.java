@@ -78,29 +78,34 @@ public abstract class
      */
     @Override
     public boolean mmequals(final ProjectivePoint<S, P, T> other) {
-        try(final T scratch = scratchpad()) {
-            return mmequals(other, scratch);
-        }
+        return equals(other);
     }
 
     /**
-     * Compare against a point, when both points are scaled, using a
-     * scratchpad..
+     * Compare against a point in constant time, without scaling
+     * either point.  Decaf points are equal if they differ by a point
+     * of order 4, which is the case exactly when {@code X1 * Y2 = Y1
+     * * X2}.
      *
      * @param other The point against which to compare.
-     * @return Whether this point is equal to {@code other}.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if this point is equal to {@code other},
+     *         {@code 0} otherwise.
      */
-    private boolean mmequals(final ProjectivePoint<S, P, T> other,
-                            final T scratch) {
+    @Override
+    public long isEqual(final ProjectivePoint<S, P, T> other,
+                        final T scratch) {
         final S r0 = scratch.r0;
         final S r1 = scratch.r1;
 
+        /* r0.1 = X1 * Y2 - Y1 * X2 */
         r0.set(x);
         r1.set(other.x);
         r0.mul(other.y);
         r1.mul(y);
+        r0.sub(r1);
 
-        return r0.equals(r1);
+        return r0.isZero();
     }
 
     /**
@@ -119,5 +124,57 @@ public abstract class
                            final T scratch)
         throws IllegalArgumentException {
         DecafPoint.decompress(edwardsD(), s, x, y, z, scratch);
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S compressScaled(final T scratch) {
+        scratch.r0.set(x);
+        scratch.r0.mul(y);
+
+        return DecafPoint.compress(edwardsD(), x, y, z, scratch.r0, scratch);
+    }
+
+    /**
+     * Projective points need an inversion to compress, which {@link
+     * #compressScaled} avoids.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean compressScaledSavesInversion() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long tryDecompress(final S s,
+                              final T scratch) {
+        final long valid = DecafPoint.tryDecompress(edwardsD(), s, x, y, z,
+                                                    null, scratch);
+
+        scaled = false;
+        reset(valid ^ 0x1, scratch);
+
+        return valid;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doubleForCompress(final S x2,
+                                  final S y2,
+                                  final S z2,
+                                  final S t2,
+                                  final S w,
+                                  final T scratch) {
+        DecafPoint.doubleForCompress(edwardsD(), x, y, z,
+                                     x2, y2, z2, t2, w, scratch);
     }
 }
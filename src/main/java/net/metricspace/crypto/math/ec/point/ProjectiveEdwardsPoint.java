@@ -35,6 +35,7 @@ import javax.security.auth.Destroyable;
 
 import net.metricspace.crypto.math.ec.curve.EdwardsCurve;
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -132,6 +133,17 @@ public abstract class
     @Override
     public final void add(final P point,
                           final T scratch) {
+        if (point.scaled) {
+            /* Z2 = 1, so use a mixed addition */
+            if (scaled) {
+                mmadd(point, scratch);
+            } else {
+                madd(point, scratch);
+            }
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-edwards-projective.html#addition-add-2007-bl:
          *
@@ -244,6 +256,8 @@ public abstract class
         /* Z3 = r5 * r1.1 */
         z.set(r5);
         z.mul(r1);
+
+        scaled = false;
     }
 
     /**
@@ -353,6 +367,8 @@ public abstract class
         /* Z3 = r4 * r0.1 */
         z.set(r4);
         z.mul(r0);
+
+        scaled = false;
     }
 
     /**
@@ -457,6 +473,8 @@ public abstract class
         /* Z3 = 1 - r2.1 */
         z.set(1);
         z.sub(r2);
+
+        scaled = false;
     }
 
     /**
@@ -464,6 +482,13 @@ public abstract class
      */
     @Override
     public final void dbl(final T scratch) {
+        if (scaled) {
+            /* Z1 = 1, so use a mixed doubling */
+            mdbl(scratch);
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-edwards-projective.html#doubling-dbl-2007-bl
          *
@@ -563,6 +588,8 @@ public abstract class
          */
         z.set(r3);
         z.mul(r1);
+
+        scaled = false;
     }
 
     /**
@@ -648,6 +675,8 @@ public abstract class
          */
         z.set(r3);
         z.mul(r4);
+
+        scaled = false;
     }
 
     /**
@@ -816,5 +845,21 @@ public abstract class
         z.sub(r3);
         z.sub(r2);
         z.mul(r4);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses a signed fixed-window method, which stays in the
+     * Edwards coordinates throughout.
+     *
+     * @see FixedWindow
+     */
+    @Override
+    public void mul(final S scalar,
+                    final T scratch) {
+        FixedWindow.mul(this, scalar, scratch);
     }
 }
@@ -49,6 +49,86 @@ public abstract class ProjectivePoint<S extends PrimeField<S>,
                                       T extends ECPoint.Scratchpad<S>>
     extends ScaledPoint<S, P, T>
     implements TwistedEdwardsPoint<S, P, T> {
+    /**
+     * Cached form for representations without a cheaper addition
+     * with a precomputed argument.  This simply holds a copy of the
+     * point.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    protected static final class Copy<S extends PrimeField<S>,
+                                      P extends ProjectivePoint<S, P, T>,
+                                      T extends ECPoint.Scratchpad<S>>
+        implements ECPoint.Cached<S, P, T> {
+        /**
+         * The copy of the point.
+         */
+        protected final P point;
+
+        /**
+         * Initialize a {@code Copy}.  This takes possession of the
+         * point.
+         *
+         * @param point The point.
+         */
+        protected Copy(final P point) {
+            this.point = point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(final long bit,
+                        final ECPoint.Cached<S, P, T> other,
+                        final T scratch) {
+            point.set(bit, ((Copy<S, P, T>)other).point, scratch);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset(final T scratch) {
+            point.reset(scratch);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void neg(final long bit,
+                        final T scratch) {
+            point.neg(bit, scratch);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Copy<S, P, T> clone() {
+            return new Copy<>(point.clone());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            point.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return point.isDestroyed();
+        }
+    }
+
     /**
      * Initialize a {@code ProjectivePoint} with three scalar objects.
      * This constructor takes possession of the parameters, which are
@@ -65,34 +145,86 @@ public abstract class ProjectivePoint<S extends PrimeField<S>,
     }
 
     /**
-     * Compare against a point, when both points are scaled.
+     * Compare against a point, when both points are scaled.  Both
+     * coordinates are always compared, and the results are combined
+     * without branching, as in {@link #isEqual}.
      *
      * @param other The point against which to compare.
      * @return Whether this point is equal to {@code other}.
      */
     public boolean mmequals(final ProjectivePoint<S, P, T> other) {
-        return x.equals(other.x) && y.equals(other.y);
+        try(final S r0 = x.clone()) {
+            final long xeq;
+
+            /* r0.1 = X1 - X2 */
+            r0.sub(other.x);
+            xeq = r0.isZero();
+
+            /* r0.2 = Y1 - Y2 */
+            r0.set(y);
+            r0.sub(other.y);
+
+            return (xeq & r0.isZero()) == 1;
+        }
     }
 
     /**
-     * Compare against a point, when this point is scaled.
+     * Compare against a point, when this point is scaled.  Neither
+     * point is modified.
      *
      * @param other The point against which to compare.
      * @return Whether this point is equal to {@code other}.
      */
     public boolean mequals(final ProjectivePoint<S, P, T> other) {
-        other.scale();
+        return equals(other);
+    }
+
+    /**
+     * Compare against a point in constant time, without scaling
+     * either point.  This compares {@code X1 * Z2} against {@code X2
+     * * Z1}, and {@code Y1 * Z2} against {@code Y2 * Z1}, so neither
+     * point is modified.
+     *
+     * @param other The point against which to compare.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if this point is equal to {@code other},
+     *         {@code 0} otherwise.
+     */
+    public long isEqual(final ProjectivePoint<S, P, T> other,
+                        final T scratch) {
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final long xeq;
+
+        /* r0.1 = X1 * Z2 - X2 * Z1 */
+        r0.set(x);
+        r0.mul(other.z);
+        r1.set(other.x);
+        r1.mul(z);
+        r0.sub(r1);
+        xeq = r0.isZero();
 
-        return mmequals(other);
+        /* r0.2 = Y1 * Z2 - Y2 * Z1 */
+        r0.set(y);
+        r0.mul(other.z);
+        r1.set(other.y);
+        r1.mul(z);
+        r0.sub(r1);
+
+        return xeq & r0.isZero();
     }
 
     /**
-     * {@inheritDoc}
+     * Compare against a point.  Neither point is modified.
+     *
+     * @param other The point against which to compare.
+     * @return Whether this point is equal to {@code other}.
+     * @see #isEqual(ProjectivePoint, ECPoint.Scratchpad)
      */
     public boolean equals(final ProjectivePoint<S, P, T> other) {
-        this.scale();
-
-        return mequals(other);
+        try(final T scratch = scratchpad()) {
+            return isEqual(other, scratch) == 1;
+        }
     }
 
     /**
@@ -147,15 +279,88 @@ public abstract class ProjectivePoint<S extends PrimeField<S>,
         z.or(one);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void neg(final long bit,
+                    final T scratch) {
+        final S r0 = scratch.r0;
+
+        r0.set(x);
+        r0.neg();
+        r0.mask(bit);
+        x.mask(bit ^ 0x1);
+        x.or(r0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long onCurve(final T scratch) {
+        /* (a * X^2 + Y^2) * Z^2 = Z^4 + d * X^2 * Y^2, and Z != 0 */
+        final S r0 = scratch.r0;
+        final S r1 = scratch.r1;
+        final S r2 = scratch.r2;
+
+        /* r0.1 = X^2 */
+        r0.set(x);
+        r0.square();
+
+        /* r1.1 = Y^2 */
+        r1.set(y);
+        r1.square();
+
+        /* r2.1 = a * r0.1 + r1.1 */
+        r2.set(r0);
+        r2.mul(edwardsA());
+        r2.add(r1);
+
+        /* r0.2 = d * r0.1 * r1.1 */
+        r0.mul(r1);
+        r0.mul(edwardsD());
+
+        /* r1.2 = Z^2 */
+        r1.set(z);
+        r1.square();
+
+        /* r2.2 = r2.1 * r1.2 */
+        r2.mul(r1);
+
+        /* r1.3 = r1.2^2 + r0.2 */
+        r1.square();
+        r1.add(r0);
+
+        /* r2.3 = r2.2 - r1.3 */
+        r2.sub(r1);
+
+        return r2.isZero() & (z.isZero() ^ 0x1);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void scale() {
-        z.inv();
-        x.mul(z);
-        y.mul(z);
+        if (!scaled) {
+            z.inv();
+            x.mul(z);
+            y.mul(z);
+            z.set(1);
+            scaled = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scale(final S inverse) {
+        x.mul(inverse);
+        y.mul(inverse);
         z.set(1);
+        scaled = true;
     }
 
     /**
@@ -166,6 +371,114 @@ public abstract class ProjectivePoint<S extends PrimeField<S>,
         x.set(point.x);
         y.set(point.y);
         z.set(point.z);
+        scaled = point.scaled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(final long bit,
+                    final P point,
+                    final T scratch) {
+        final S r0 = scratch.r0;
+        final long negbit = bit ^ 0x1;
+
+        r0.set(point.x);
+        r0.mask(bit);
+        x.mask(negbit);
+        x.or(r0);
+        r0.set(point.y);
+        r0.mask(bit);
+        y.mask(negbit);
+        y.or(r0);
+        r0.set(point.z);
+        r0.mask(bit);
+        z.mask(negbit);
+        z.or(r0);
+
+        /* Only known if it is the same either way */
+        scaled &= point.scaled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ECPoint.Cached<S, P, T> cache(final T scratch) {
+        return new Copy<>(clone());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final ECPoint.Cached<S, P, T> point,
+                    final T scratch) {
+        add(((Copy<S, P, T>)point).point, scratch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void montgomeryProjective(final S xnum,
+                                     final S xdenom,
+                                     final S ynum,
+                                     final S ydenom) {
+        /* u = (1 + y) / (1 - y) = (Z + Y) / (Z - Y)
+         * v = u / x = ((Z + Y) * Z) / ((Z - Y) * X)
+         */
+        xnum.set(z);
+        xnum.add(y);
+        xdenom.set(z);
+        xdenom.sub(y);
+        ynum.set(xnum);
+        ynum.mul(z);
+        ydenom.set(xdenom);
+        ydenom.mul(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMontgomery(final S u,
+                              final S v,
+                              final S w,
+                              final T scratch) {
+        /* x = u / v, y = (u - w) / (u + w), so
+         *
+         * X = U * (U + W)
+         * Y = V * (U - W)
+         * Z = V * (U + W)
+         *
+         * except that V = 0 would give (0 : 0 : 0), so the point (0,
+         * 0) is mapped to (0 : -W : W) without branching.
+         */
+        final S r0 = scratch.r0;
+        final long vzero = v.isZero();
+
+        r0.set(u);
+        r0.add(w);
+        x.set(u);
+        x.mul(r0);
+        y.set(u);
+        y.sub(w);
+        y.mul(v);
+        z.set(v);
+        z.mul(r0);
+        x.mask(vzero ^ 0x1);
+        r0.set(w);
+        r0.neg();
+        r0.mask(vzero);
+        y.mask(vzero ^ 0x1);
+        y.or(r0);
+        r0.set(w);
+        r0.mask(vzero);
+        z.mask(vzero ^ 0x1);
+        z.or(r0);
+        scaled = false;
     }
 
     /**
@@ -176,6 +489,28 @@ public abstract class ProjectivePoint<S extends PrimeField<S>,
         this.x.set(x);
         this.y.set(y);
         this.z.set(1);
+        scaled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEdwards(final S xnum,
+                           final S xdenom,
+                           final S ynum,
+                           final S ydenom) {
+        /* X = xnum * ydenom
+         * Y = ynum * xdenom
+         * Z = xdenom * ydenom
+         */
+        x.set(xnum);
+        x.mul(ydenom);
+        y.set(ynum);
+        y.mul(xdenom);
+        z.set(xdenom);
+        z.mul(ydenom);
+        scaled = false;
     }
 
     /**
@@ -35,6 +35,7 @@ import javax.security.auth.Destroyable;
 
 import net.metricspace.crypto.math.ec.curve.TwistedEdwardsCurve;
 import net.metricspace.crypto.math.ec.ladder.MontgomeryLadder;
+import net.metricspace.crypto.math.ec.window.FixedWindow;
 import net.metricspace.crypto.math.field.PrimeField;
 
 /**
@@ -125,6 +126,17 @@ public abstract class
     @Override
     public final void add(final P point,
                           final T scratch) {
+        if (point.scaled) {
+            /* Z2 = 1, so use a mixed addition */
+            if (scaled) {
+                mmadd(point, scratch);
+            } else {
+                madd(point, scratch);
+            }
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-projective.html#addition-add-2008-bbjlp
          *
@@ -244,6 +256,8 @@ public abstract class
          */
         z.set(r5);
         z.mul(r1);
+
+        scaled = false;
     }
 
     /**
@@ -362,6 +376,8 @@ public abstract class
          */
         z.set(r4);
         z.mul(r0);
+
+        scaled = false;
     }
 
     /**
@@ -472,6 +488,8 @@ public abstract class
          */
         z.set(1);
         z.sub(r2);
+
+        scaled = false;
     }
 
     /**
@@ -479,6 +497,13 @@ public abstract class
      */
     @Override
     public final void dbl(final T scratch) {
+        if (scaled) {
+            /* Z1 = 1, so use a mixed doubling */
+            mdbl(scratch);
+
+            return;
+        }
+
         /* Formula from
          * https://hyperelliptic.org/EFD/g1p/auto-twisted-projective.html#doubling-dbl-2008-bbjlp
          *
@@ -575,6 +600,8 @@ public abstract class
          */
         z.set(r4);
         z.mul(r5);
+
+        scaled = false;
     }
 
     /**
@@ -688,6 +715,8 @@ public abstract class
         z.set(r4);
         z.square();
         z.sub(r0);
+
+        scaled = false;
     }
 
     /**
@@ -822,5 +851,21 @@ public abstract class
         /* Z3 = Z1 * r1.1 * r2.1 */
         z.mul(r1);
         z.mul(r2);
+
+        scaled = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses a signed fixed-window method, which stays in the
+     * Edwards coordinates throughout.
+     *
+     * @see FixedWindow
+     */
+    @Override
+    public void mul(final S scalar,
+                    final T scratch) {
+        FixedWindow.mul(this, scalar, scratch);
     }
 }
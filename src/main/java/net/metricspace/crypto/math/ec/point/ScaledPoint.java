@@ -62,6 +62,14 @@ public abstract class ScaledPoint<S extends PrimeField<S>,
      */
     protected final S z;
 
+    /**
+     * Whether {@code z} is known to be {@code 1}.  This is
+     * conservative: it may be {@code false} when {@code z} happens to
+     * be {@code 1}, but it is never {@code true} otherwise.  It never
+     * depends on the bits passed to the constant-time operations.
+     */
+    protected boolean scaled;
+
     /**
      * Initialize an {@code InvertedPoint} with three scalar objects.
      * This constructor takes possession of the parameters, which are
@@ -97,6 +105,22 @@ public abstract class ScaledPoint<S extends PrimeField<S>,
         return x.isDestroyed() && y.isDestroyed() && z.isDestroyed();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S scaleFactorRef() {
+        return z;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isScaled() {
+        return scaled;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,6 +129,7 @@ public abstract class ScaledPoint<S extends PrimeField<S>,
         target.x.set(x);
         target.y.set(y);
         target.z.set(z);
+        target.scaled = scaled;
     }
 
     /**
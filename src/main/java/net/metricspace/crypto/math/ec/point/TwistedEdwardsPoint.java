@@ -131,6 +131,22 @@ public interface TwistedEdwardsPoint<S extends PrimeField<S>,
     public void setEdwards(final S x,
                            final S y);
 
+    /**
+     * Set the point from its Edwards coordinates, given as a pair of
+     * fractions.  The Edwards X coordinate is {@code xnum / xdenom},
+     * and the Y coordinate is {@code ynum / ydenom}.  This does not
+     * perform any inversions.
+     *
+     * @param xnum The numerator of the Edwards X coordinate.
+     * @param xdenom The denominator of the Edwards X coordinate.
+     * @param ynum The numerator of the Edwards Y coordinate.
+     * @param ydenom The denominator of the Edwards Y coordinate.
+     */
+    public void setEdwards(final S xnum,
+                           final S xdenom,
+                           final S ynum,
+                           final S ydenom);
+
     /**
      * Set Edwards X and Y scalar coordinate object from Montgomery
      * coordinates.
@@ -252,4 +268,15 @@ public interface TwistedEdwardsPoint<S extends PrimeField<S>,
                             final S y) {
         setMontgomery(x, y);
     }
+
+    /**
+     * Get the cofactor of the curve, from its shared constants.
+     *
+     * @return The cofactor.
+     * @see net.metricspace.crypto.math.ec.curve.CurveConstants#cofactor
+     */
+    @Override
+    public default int cofactor() {
+        return constants().cofactor;
+    }
 }
@@ -0,0 +1,113 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.window;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Multiplication by small integer constants using addition chains.
+ * This is intended for multipliers that are fixed and public, such
+ * as cofactors, where a full scalar multiplication would be wasteful.
+ * Factors of {@code 2} and {@code 3} are handled with {@link
+ * ECPoint#dbl} and {@link ECPoint#tpl}, and whatever remains is
+ * handled with a binary chain of doublings and additions.
+ * <p>
+ * These chains are not optimal in general: {@code 23}, for example,
+ * takes seven operations where six would do.  The multipliers that
+ * matter here are the cofactors {@code 4} and {@code 8}, for which
+ * the chain is pure doublings, and no shorter chain exists.
+ * <p>
+ * The sequence of point operations depends on the multiplier, so the
+ * multiplier must not be secret.  It does not depend on the point.
+ */
+public final class AdditionChain {
+    private AdditionChain() {}
+
+    /**
+     * Multiply a point by a small integer.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point to multiply, replaced with the result.
+     * @param k The (public) multiplier.
+     * @param scratch The scratchpad to use.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mul(final ECPoint<S, P, T> point,
+                 final long k,
+                 final T scratch) {
+        long n = k;
+
+        if (n < 0) {
+            point.neg(scratch);
+            n = -n;
+        }
+
+        if (n == 0) {
+            point.reset(scratch);
+
+            return;
+        }
+
+        final int twos = Long.numberOfTrailingZeros(n);
+        int threes = 0;
+
+        n >>>= twos;
+
+        while (n % 3 == 0) {
+            n /= 3;
+            threes++;
+        }
+
+        if (n != 1) {
+            try(final P base = point.clone()) {
+                for(int i = 62 - Long.numberOfLeadingZeros(n); i >= 0; i--) {
+                    point.dbl(scratch);
+
+                    if (((n >>> i) & 0x1) != 0) {
+                        point.add(base, scratch);
+                    }
+                }
+            }
+        }
+
+        for(int i = 0; i < threes; i++) {
+            point.tpl(scratch);
+        }
+
+        point.dbl(twos, scratch);
+    }
+}
@@ -0,0 +1,366 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.window;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Fixed-base scalar multiplication using a precomputed table of
+ * multiples of a single point.  The scalar is split into windows of
+ * {@link #WINDOW_BITS} bits, and window {@code i} of the table holds
+ * the points {@code j * 16^i * base} for {@code 1 <= j < 16}.  A
+ * multiplication then consists of one table lookup and one addition
+ * per window, with no doublings.
+ * <p>
+ * The table is built the first time it is used, which costs roughly
+ * as much as a few hundred ordinary multiplications.  Table lookups
+ * touch every entry in a window and select the desired one with
+ * {@link PrimeField#mask} and {@link PrimeField#or}, so the memory
+ * access pattern does not depend on the scalar.  The number of
+ * windows is determined by the width of the underlying field, not by
+ * the scalar value.
+ * <p>
+ * This relies on the addition formulas being complete, which is the
+ * case for all the Edwards point representations.
+ *
+ * @param <S> Scalar values.
+ * @param <P> Point type.
+ * @param <T> Scratchpad type.
+ */
+public final class FixedBaseTable<S extends PrimeField<S>,
+                                  P extends ECPoint<S, P, T>,
+                                  T extends ECPoint.Scratchpad<S>> {
+    /**
+     * Number of scalar bits covered by each window.
+     */
+    public static final int WINDOW_BITS = 4;
+
+    /**
+     * Number of distinct values for a window.
+     */
+    private static final int WINDOW_SIZE = 1 << WINDOW_BITS;
+
+    /**
+     * The base point.
+     */
+    private final P base;
+
+    /**
+     * The number of bits in a scalar value.  This is written before
+     * {@link #table}, and is only read after it.
+     */
+    private int nbits;
+
+    /**
+     * The table of scaled multiples, or {@code null} if it has not
+     * been built yet.
+     */
+    private volatile P[][] table;
+
+    /**
+     * Initialize a {@code FixedBaseTable} for a given base point.
+     * The table itself is not built until it is first used.
+     *
+     * @param base The base point.  This is copied.
+     */
+    public FixedBaseTable(final P base) {
+        this.base = base.clone();
+        this.table = null;
+    }
+
+    /**
+     * Extract a window from a scalar value.
+     *
+     * @param <S> Scalar values.
+     * @param scalar The scalar value.
+     * @param idx The index of the lowest bit in the window.
+     * @param bits The number of bits in the window.
+     * @param nbits The number of bits in a scalar value.
+     * @return The value of the window.
+     */
+    static <S extends PrimeField<S>> int window(final S scalar,
+                                                final int idx,
+                                                final int bits,
+                                                final int nbits) {
+        int out = 0;
+
+        for(int i = 0; i < bits && idx + i < nbits; i++) {
+            out |= ((int)scalar.bit(idx + i)) << i;
+        }
+
+        return out;
+    }
+
+    /**
+     * Branch-free comparison of two small non-negative integers.
+     *
+     * @param a The first integer.
+     * @param b The second integer.
+     * @return {@code 1} if {@code a == b}, {@code 0} otherwise.
+     */
+    static long equal(final int a,
+                      final int b) {
+        return ((long)(a ^ b) - 1) >>> 63;
+    }
+
+    /**
+     * Get the table, building it if necessary.
+     *
+     * @param scalar A scalar value, used only to obtain the field.
+     * @param scratch The scratchpad to use.
+     * @return The table.
+     */
+    private P[][] table(final S scalar,
+                        final T scratch) {
+        P[][] out = table;
+
+        if (out == null) {
+            synchronized(this) {
+                out = table;
+
+                if (out == null) {
+                    nbits = ECPoint.scalarBits(scalar);
+                    out = build(scratch);
+                    table = out;
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Build the table.
+     *
+     * @param scratch The scratchpad to use.
+     * @return The table.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private P[][] build(final T scratch) {
+        final int nwindows = (nbits + WINDOW_BITS - 1) / WINDOW_BITS;
+        final P[][] out = (P[][])new ECPoint[nwindows][WINDOW_SIZE - 1];
+
+        try(final P curr = base.clone()) {
+            for(int i = 0; i < nwindows; i++) {
+                out[i][0] = curr.clone();
+
+                for(int j = 1; j < WINDOW_SIZE - 1; j++) {
+                    out[i][j] = out[i][j - 1].clone();
+                    out[i][j].suadd(curr, scratch);
+                }
+
+                /* Advance to 16^(i + 1) * base */
+                curr.suadd(out[i][WINDOW_SIZE - 2], scratch);
+
+                for(int j = 0; j < WINDOW_SIZE - 1; j++) {
+                    out[i][j].scale();
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Multiply the base point by a scalar.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to {@code scalar * base}.
+     */
+    public P mul(final S scalar,
+                 final T scratch) {
+        final P[][] entries = table(scalar, scratch);
+        final P out = base.clone();
+
+        out.reset(scratch);
+
+        try(final P entry = base.clone()) {
+            for(int i = 0; i < entries.length; i++) {
+                final int digit = window(scalar, i * WINDOW_BITS,
+                                         WINDOW_BITS, nbits);
+
+                /* Branch-free lookup of digit * 16^i * base */
+                entry.reset(scratch);
+
+                for(int j = 1; j < WINDOW_SIZE; j++) {
+                    entry.set(equal(digit, j), entries[i][j - 1], scratch);
+                }
+
+                out.madd(entry, scratch);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Multiply the base point by a scalar.
+     *
+     * @param scalar The scalar by which to multiply.
+     * @return A new point, equal to {@code scalar * base}.
+     */
+    public P mul(final S scalar) {
+        try(final T scratch = base.scratchpad()) {
+            return mul(scalar, scratch);
+        }
+    }
+
+    /**
+     * Compute {@code a * base + b * q}.  This interleaves the two
+     * multiplications in the manner of {@link FixedWindow#mulAdd},
+     * so that they share one sequence of doublings, but takes the
+     * multiples of the base point from the first window of the table
+     * rather than computing them.  As with {@link #mul}, neither the
+     * running time nor the memory access pattern depends on the
+     * scalars.
+     *
+     * @param a The scalar by which to multiply the base point.
+     * @param q The other point.  This is not modified.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to {@code a * base + b * q}.
+     */
+    public P mulAdd(final S a,
+                    final P q,
+                    final S b,
+                    final T scratch) {
+        final P[] multiples = table(a, scratch)[0];
+        final int[] bdigits = FixedWindow.recode(b, nbits);
+        final ECPoint.Cached<S, P, T>[] qtable =
+            FixedWindow.multiples(q, scratch);
+        final P out = base.clone();
+
+        out.reset(scratch);
+
+        try(final P entry = base.clone();
+            final ECPoint.Cached<S, P, T> qentry = qtable[0].clone()) {
+            for(int i = bdigits.length - 1; i >= 0; i--) {
+                final int digit = window(a, i * WINDOW_BITS,
+                                         WINDOW_BITS, nbits);
+
+                out.dbl(WINDOW_BITS, scratch);
+
+                FixedWindow.lookup(qentry, qtable, bdigits[i], scratch);
+                out.add(qentry, scratch);
+
+                /* Branch-free lookup of digit * base */
+                entry.reset(scratch);
+
+                for(int j = 1; j < WINDOW_SIZE; j++) {
+                    entry.set(equal(digit, j), multiples[j - 1], scratch);
+                }
+
+                out.madd(entry, scratch);
+            }
+        } finally {
+            WindowedNAF.destroy(qtable);
+        }
+
+        return out;
+    }
+
+    /**
+     * Compute {@code a * base + b * q}, in variable time.  This
+     * interleaves the digits of {@code a} with the width-{@code w}
+     * NAF of {@code b}, so that they share one sequence of doublings,
+     * and takes the multiples of the base point from the first window
+     * of the table.
+     * <p>
+     * <b>This is not constant-time</b>, and must only be used with
+     * public scalars.
+     *
+     * @param a The (public) scalar by which to multiply the base
+     *          point.
+     * @param q The other point.  This is not modified.
+     * @param b The (public) scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to {@code a * base + b * q}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public P mulAddVartime(final S a,
+                           final P q,
+                           final S b,
+                           final T scratch) {
+        final P[] multiples = table(a, scratch)[0];
+        final int tablesize = 1 << (WindowedNAF.WIDTH - 2);
+        final int[] bdigits = WindowedNAF.recode(b, WindowedNAF.WIDTH);
+        final ECPoint.Cached<S, P, T>[] qtable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[tablesize];
+        final ECPoint.Cached<S, P, T>[] qnegtable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[tablesize];
+        final int top = Math.max(bdigits.length, a.numBits()) - 1;
+        final P out = base.clone();
+
+        out.reset(scratch);
+
+        try {
+            WindowedNAF.oddMultiples(q, qtable, qnegtable, scratch);
+
+            /* Defer doublings until the next addition, so that runs
+             * of zero digits become a single chain.
+             */
+            int dbls = 0;
+
+            for(int i = top; i >= 0; i--) {
+                final int bdigit = WindowedNAF.digit(bdigits, i);
+                final int adigit = i % WINDOW_BITS == 0 ?
+                    window(a, i, WINDOW_BITS, nbits) : 0;
+
+                dbls++;
+
+                if (bdigit != 0 || adigit != 0) {
+                    out.dbl(dbls, scratch);
+                    dbls = 0;
+                }
+
+                if (bdigit > 0) {
+                    out.add(qtable[bdigit >>> 1], scratch);
+                } else if (bdigit < 0) {
+                    out.add(qnegtable[(-bdigit) >>> 1], scratch);
+                }
+
+                if (adigit != 0) {
+                    out.madd(multiples[adigit - 1], scratch);
+                }
+            }
+
+            out.dbl(dbls, scratch);
+        } finally {
+            WindowedNAF.destroy(qtable);
+            WindowedNAF.destroy(qnegtable);
+        }
+
+        return out;
+    }
+}
@@ -0,0 +1,243 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.window;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Constant-time scalar multiplication using a signed fixed window.
+ * The scalar is recoded into digits in the range {@code [-8, 8)}, one
+ * for every {@link #WINDOW_BITS} bits, and the multiplication
+ * proceeds from the most significant digit, doubling four times and
+ * then adding the multiple of the point selected by the digit.  The
+ * table holds only the multiples {@code 1} to {@code 8}; negative
+ * digits are handled by a conditional negation.
+ * <p>
+ * This works entirely in the point's own coordinates, and thus avoids
+ * the conversions to and from Montgomery form required by {@link
+ * net.metricspace.crypto.math.ec.ladder.MontgomeryLadder}.  Both the
+ * number of digits and the sequence of point operations are
+ * determined by the width of the underlying field, and every table
+ * lookup touches all entries, so neither the running time nor the
+ * memory access pattern depends on the scalar.  As with {@link
+ * FixedBaseTable}, this relies on the addition formulas being
+ * complete.
+ */
+public final class FixedWindow {
+    /**
+     * Number of scalar bits covered by each window.
+     */
+    public static final int WINDOW_BITS = 4;
+
+    /**
+     * Number of multiples held in the table.
+     */
+    private static final int TABLE_SIZE = 1 << (WINDOW_BITS - 1);
+
+    private FixedWindow() {}
+
+    /**
+     * Recode a scalar into signed digits.  Each digit {@code d}
+     * satisfies {@code -8 <= d < 8}, and the scalar is equal to the
+     * sum of {@code digits[i] * 16^i}.
+     *
+     * @param <S> Scalar values.
+     * @param scalar The scalar value.
+     * @param nbits The number of bits in a scalar value.
+     * @return The signed digits, least significant first.
+     */
+    static <S extends PrimeField<S>> int[] recode(final S scalar,
+                                                  final int nbits) {
+        final int ndigits = ((nbits + WINDOW_BITS - 1) / WINDOW_BITS) + 1;
+        final int[] out = new int[ndigits];
+        int carry = 0;
+
+        for(int i = 0; i < ndigits - 1; i++) {
+            final int digit = FixedBaseTable.window(scalar, i * WINDOW_BITS,
+                                                    WINDOW_BITS, nbits) +
+                              carry;
+
+            /* Branch-free: carry = digit >= 8 */
+            carry = (digit + TABLE_SIZE) >>> WINDOW_BITS;
+            out[i] = digit - (carry << WINDOW_BITS);
+        }
+
+        out[ndigits - 1] = carry;
+
+        return out;
+    }
+
+    /**
+     * Fill in a table of multiples of a point.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point.
+     * @param scratch The scratchpad to use.
+     * @return A table containing {@code (j + 1) * point} at index
+     *         {@code j}, in cached form.
+     * @see ECPoint#cache(ECPoint.Scratchpad)
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        ECPoint.Cached<S, P, T>[] multiples(final ECPoint<S, P, T> point,
+                                            final T scratch) {
+        final ECPoint.Cached<S, P, T>[] table =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[TABLE_SIZE];
+
+        try(final P multiple = point.clone()) {
+            table[0] = multiple.cache(scratch);
+            multiple.dbl(scratch);
+            table[1] = multiple.cache(scratch);
+
+            for(int j = 2; j < TABLE_SIZE; j++) {
+                multiple.add(table[0], scratch);
+                table[j] = multiple.cache(scratch);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Branch-free lookup of a signed multiple from a table built by
+     * {@link #multiples}.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param entry Replaced with {@code digit} times the point.
+     * @param table The table of multiples.
+     * @param digit The signed digit.
+     * @param scratch The scratchpad to use.
+     */
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        void lookup(final ECPoint.Cached<S, P, T> entry,
+                    final ECPoint.Cached<S, P, T>[] table,
+                    final int digit,
+                    final T scratch) {
+        final int sign = digit >>> 31;
+        final int abs = (digit ^ -sign) + sign;
+
+        entry.reset(scratch);
+
+        for(int j = 1; j <= TABLE_SIZE; j++) {
+            entry.set(FixedBaseTable.equal(abs, j), table[j - 1], scratch);
+        }
+
+        entry.neg(sign, scratch);
+    }
+
+    /**
+     * Multiply a point by a scalar.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point to multiply, replaced with the result.
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad to use.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mul(final ECPoint<S, P, T> point,
+                 final S scalar,
+                 final T scratch) {
+        final int nbits = ECPoint.scalarBits(scalar);
+        final int[] digits = recode(scalar, nbits);
+        final ECPoint.Cached<S, P, T>[] table = multiples(point, scratch);
+
+        try(final ECPoint.Cached<S, P, T> entry = table[0].clone()) {
+            point.reset(scratch);
+
+            for(int i = digits.length - 1; i >= 0; i--) {
+                point.dbl(WINDOW_BITS, scratch);
+
+                lookup(entry, table, digits[i], scratch);
+                point.add(entry, scratch);
+            }
+        } finally {
+            WindowedNAF.destroy(table);
+        }
+    }
+
+    /**
+     * Compute {@code a * point + b * q}.  The two multiplications are
+     * interleaved, so that they share a single sequence of doublings.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The first point, replaced with the result.
+     * @param a The scalar by which to multiply {@code point}.
+     * @param q The second point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mulAdd(final ECPoint<S, P, T> point,
+                    final S a,
+                    final P q,
+                    final S b,
+                    final T scratch) {
+        final int nbits = ECPoint.scalarBits(a);
+        final int[] adigits = recode(a, nbits);
+        final int[] bdigits = recode(b, nbits);
+        final ECPoint.Cached<S, P, T>[] atable = multiples(point, scratch);
+        final ECPoint.Cached<S, P, T>[] btable = multiples(q, scratch);
+
+        try(final ECPoint.Cached<S, P, T> entry = atable[0].clone()) {
+            point.reset(scratch);
+
+            for(int i = adigits.length - 1; i >= 0; i--) {
+                point.dbl(WINDOW_BITS, scratch);
+
+                lookup(entry, atable, adigits[i], scratch);
+                point.add(entry, scratch);
+                lookup(entry, btable, bdigits[i], scratch);
+                point.add(entry, scratch);
+            }
+        } finally {
+            WindowedNAF.destroy(atable);
+            WindowedNAF.destroy(btable);
+        }
+    }
+}
@@ -0,0 +1,682 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Variable-time multi-scalar multiplication, computing the sum of
+ * {@code scalars[i] * points[i]}.  Small inputs use Straus' method,
+ * interleaving the width-{@code w} NAF multiplications from {@link
+ * WindowedNAF} so that they share one sequence of doublings.  Larger
+ * inputs use Pippenger's bucket method: the scalars are split into
+ * windows of {@code c} bits, and for each window, every point is
+ * added into the bucket selected by its scalar's digit, after which
+ * the buckets are combined with a running sum.  The windows are
+ * independent of one another, and are computed in parallel on a
+ * {@link ForkJoinPool}.  Within a window, large batches are further
+ * partitioned into ranges of points, each of which fills its own set
+ * of buckets, and the bucket sets are then merged pairwise.
+ * <p>
+ * <b>This is not constant-time.</b>  It must only be used with public
+ * scalars, such as when verifying batches of signatures.
+ */
+public final class MultiScalar {
+    /**
+     * Number of points below which Straus' method is used.
+     */
+    public static final int STRAUS_THRESHOLD = 32;
+
+    /**
+     * Number of points below which {@link #sum} adds sequentially,
+     * rather than splitting the array.
+     */
+    public static final int SUM_THRESHOLD = 256;
+
+    /**
+     * Largest window size used by Pippenger's method.
+     */
+    private static final int MAX_WINDOW_BITS = 16;
+
+    /**
+     * Minimum number of points for each bucket for which a range of
+     * points is accumulated separately.  Merging two sets of buckets
+     * costs one addition per bucket, so ranges are only split when
+     * they are large compared to the number of buckets.
+     */
+    private static final int POINTS_PER_BUCKET = 4;
+
+    private MultiScalar() {}
+
+    /**
+     * Pick a Pippenger window size for a number of points.  The cost
+     * is roughly {@code (b / c) * (n + 2^c)} additions for {@code b}
+     * bit scalars, which is minimized around {@code c = ln(n)}.
+     *
+     * @param n The number of points.
+     * @return The window size in bits.
+     */
+    static int windowBits(final int n) {
+        final int c = (int)Math.ceil(Math.log(n));
+
+        return Math.max(2, Math.min(MAX_WINDOW_BITS, c));
+    }
+
+    /**
+     * Compute the sum of {@code scalars[i] * points[i]}, using the
+     * common {@link ForkJoinPool}.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param scalars The (public) scalars.
+     * @param points The points.  These are not modified.
+     * @param zero The zero point.  This is not modified.
+     * @return A new point, equal to the sum of {@code scalars[i] *
+     *         points[i]}.
+     * @throws IllegalArgumentException If the number of scalars and
+     *                                  points differ.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        P mulVartime(final S[] scalars,
+                     final P[] points,
+                     final P zero)
+        throws IllegalArgumentException {
+        return mulVartime(scalars, points, zero, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the sum of {@code scalars[i] * points[i]}.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param scalars The (public) scalars.
+     * @param points The points.  These are not modified.
+     * @param zero The zero point.  This is not modified.
+     * @param pool The pool on which to run Pippenger's method.
+     * @return A new point, equal to the sum of {@code scalars[i] *
+     *         points[i]}.
+     * @throws IllegalArgumentException If the number of scalars and
+     *                                  points differ.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        P mulVartime(final S[] scalars,
+                     final P[] points,
+                     final P zero,
+                     final ForkJoinPool pool)
+        throws IllegalArgumentException {
+        if (scalars.length != points.length) {
+            throw new IllegalArgumentException("Got " + scalars.length +
+                                               " scalars, but " +
+                                               points.length + " points");
+        }
+
+        if (points.length < STRAUS_THRESHOLD) {
+            try(final T scratch = zero.scratchpad()) {
+                return straus(scalars, points, zero, scratch);
+            }
+        } else {
+            return pippenger(scalars, points, zero, pool);
+        }
+    }
+
+    /**
+     * Compute the sum of an array of points, on the common {@link
+     * ForkJoinPool}.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points.  These are not modified.
+     * @param zero The zero point.  This is not modified.
+     * @return A new point, equal to the sum of {@code points}.
+     * @see #sum(ECPoint[], ECPoint, ForkJoinPool)
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        P sum(final P[] points,
+              final P zero) {
+        return sum(points, zero, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the sum of an array of points.  The array is split in
+     * half until the pieces are smaller than {@link #SUM_THRESHOLD},
+     * the pieces are summed in parallel, and the partial sums are
+     * combined with {@link ECPoint#add}.  Points which have been
+     * scaled are added with {@link ECPoint#madd}.
+     * <p>
+     * Whether or not each point has been scaled is visible through
+     * timing, but nothing else about the points is.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param points The points.  These are not modified.
+     * @param zero The zero point.  This is not modified.
+     * @param pool The pool on which to compute the partial sums.
+     * @return A new point, equal to the sum of {@code points}.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        P sum(final P[] points,
+              final P zero,
+              final ForkJoinPool pool) {
+        return pool.invoke(new SumTask<>(points, zero, 0, points.length));
+    }
+
+    /**
+     * Get a {@link Collector} which sums a stream of points.  Each
+     * thread accumulates into its own point, using {@link
+     * ECPoint#madd} for points which have been scaled, and the
+     * partial sums are combined with {@link ECPoint#add}.  The
+     * points in the stream are not modified.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param zero Source of zero points.  This is called once for
+     *             each partial sum, and the accumulator takes
+     *             possession of the resulting point.
+     * @return A {@link Collector} producing the sum of the points.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        Collector<P, ?, P> summing(final Supplier<P> zero) {
+        return Collector.of(() -> new Summation<S, P, T>(zero.get()),
+                            Summation::accept,
+                            Summation::combine,
+                            Summation::finish,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Straus' method, using interleaved wNAF multiplications.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param scalars The scalars.
+     * @param points The points.
+     * @param zero The zero point.
+     * @param scratch The scratchpad to use.
+     * @return A new point, equal to the sum of {@code scalars[i] *
+     *         points[i]}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        P straus(final S[] scalars,
+                 final P[] points,
+                 final P zero,
+                 final T scratch) {
+        final int n = points.length;
+        final int tablesize = 1 << (WindowedNAF.WIDTH - 2);
+        final int[][] digits = new int[n][];
+        final ECPoint.Cached<S, P, T>[][] tables =
+            (ECPoint.Cached<S, P, T>[][])new ECPoint.Cached[n][tablesize];
+        final ECPoint.Cached<S, P, T>[][] negtables =
+            (ECPoint.Cached<S, P, T>[][])new ECPoint.Cached[n][tablesize];
+        final P out = zero.clone();
+        int top = -1;
+
+        try {
+            for(int i = 0; i < n; i++) {
+                digits[i] = WindowedNAF.recode(scalars[i], WindowedNAF.WIDTH);
+                WindowedNAF.oddMultiples(points[i], tables[i],
+                                         negtables[i], scratch);
+                top = Math.max(top, digits[i].length - 1);
+            }
+
+            /* Defer doublings until the next addition, so that runs
+             * of zero digits become a single chain.
+             */
+            int dbls = 0;
+
+            for(int j = top; j >= 0; j--) {
+                dbls++;
+
+                for(int i = 0; i < n; i++) {
+                    final int digit = WindowedNAF.digit(digits[i], j);
+
+                    if (digit != 0) {
+                        out.dbl(dbls, scratch);
+                        dbls = 0;
+                    }
+
+                    if (digit > 0) {
+                        out.add(tables[i][digit >>> 1], scratch);
+                    } else if (digit < 0) {
+                        out.add(negtables[i][(-digit) >>> 1], scratch);
+                    }
+                }
+            }
+
+            out.dbl(dbls, scratch);
+        } finally {
+            for(int i = 0; i < n; i++) {
+                WindowedNAF.destroy(tables[i]);
+                WindowedNAF.destroy(negtables[i]);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Pippenger's bucket method.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param scalars The scalars.
+     * @param points The points.
+     * @param zero The zero point.
+     * @param pool The pool on which to compute the windows.
+     * @return A new point, equal to the sum of {@code scalars[i] *
+     *         points[i]}.
+     */
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        P pippenger(final S[] scalars,
+                    final P[] points,
+                    final P zero,
+                    final ForkJoinPool pool) {
+        final int c = windowBits(points.length);
+        int nbits = 0;
+
+        for(int i = 0; i < scalars.length; i++) {
+            nbits = Math.max(nbits, scalars[i].numBits() + 1);
+        }
+
+        final int nwindows = (nbits + c - 1) / c;
+        final List<WindowTask<S, P, T>> tasks = new ArrayList<>(nwindows);
+
+        for(int i = 0; i < nwindows; i++) {
+            final WindowTask<S, P, T> task =
+                new WindowTask<>(scalars, points, zero, i * c, c, nbits);
+
+            tasks.add(task);
+            pool.execute(task);
+        }
+
+        final P out = zero.clone();
+
+        try(final T scratch = zero.scratchpad()) {
+            for(int i = nwindows - 1; i >= 0; i--) {
+                out.dbl(c, scratch);
+
+                try(final P sum = tasks.get(i).join()) {
+                    out.add(sum, scratch);
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Task computing the sum for a single Pippenger window.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    private static final class WindowTask<S extends PrimeField<S>,
+                                          P extends ECPoint<S, P, T>,
+                                          T extends ECPoint.Scratchpad<S>>
+        extends RecursiveTask<P> {
+        private static final long serialVersionUID = 1L;
+
+        private final S[] scalars;
+        private final P[] points;
+        private final P zero;
+        private final int idx;
+        private final int bits;
+        private final int nbits;
+
+        /**
+         * Initialize a {@code WindowTask}.
+         *
+         * @param scalars The scalars.
+         * @param points The points.
+         * @param zero The zero point.
+         * @param idx The index of the lowest bit in the window.
+         * @param bits The number of bits in the window.
+         * @param nbits The number of bits in the largest scalar.
+         */
+        WindowTask(final S[] scalars,
+                   final P[] points,
+                   final P zero,
+                   final int idx,
+                   final int bits,
+                   final int nbits) {
+            this.scalars = scalars;
+            this.points = points;
+            this.zero = zero;
+            this.idx = idx;
+            this.bits = bits;
+            this.nbits = nbits;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected P compute() {
+            final P[] buckets =
+                new BucketTask<>(scalars, points, zero, idx, bits,
+                                 nbits, 0, points.length).compute();
+            final P sum = zero.clone();
+
+            try(final T scratch = zero.scratchpad();
+                final P running = zero.clone()) {
+                /* sum = sum of d * buckets[d - 1], computed as the
+                 * sum of the running sums from the top down */
+                for(int d = buckets.length; d > 0; d--) {
+                    if (buckets[d - 1] != null) {
+                        running.add(buckets[d - 1], scratch);
+                    }
+
+                    sum.add(running, scratch);
+                }
+            } finally {
+                WindowedNAF.destroy(buckets);
+            }
+
+            return sum;
+        }
+    }
+
+    /**
+     * Task filling the buckets for a single Pippenger window from a
+     * range of the points.  Large ranges are split in half, the
+     * halves are filled in parallel, and their buckets are merged.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    private static final class BucketTask<S extends PrimeField<S>,
+                                          P extends ECPoint<S, P, T>,
+                                          T extends ECPoint.Scratchpad<S>>
+        extends RecursiveTask<P[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final S[] scalars;
+        private final P[] points;
+        private final P zero;
+        private final int idx;
+        private final int bits;
+        private final int nbits;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Initialize a {@code BucketTask}.
+         *
+         * @param scalars The scalars.
+         * @param points The points.
+         * @param zero The zero point.
+         * @param idx The index of the lowest bit in the window.
+         * @param bits The number of bits in the window.
+         * @param nbits The number of bits in the largest scalar.
+         * @param lo The index of the first point in the range.
+         * @param hi The index one past the last point in the range.
+         */
+        BucketTask(final S[] scalars,
+                   final P[] points,
+                   final P zero,
+                   final int idx,
+                   final int bits,
+                   final int nbits,
+                   final int lo,
+                   final int hi) {
+            this.scalars = scalars;
+            this.points = points;
+            this.zero = zero;
+            this.idx = idx;
+            this.bits = bits;
+            this.nbits = nbits;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected P[] compute() {
+            final int threshold =
+                Math.max(SUM_THRESHOLD, POINTS_PER_BUCKET << bits);
+
+            if (hi - lo < 2 * threshold) {
+                final P[] buckets = (P[])new ECPoint[(1 << bits) - 1];
+
+                try(final T scratch = zero.scratchpad()) {
+                    /* buckets[d - 1] accumulates points with digit d */
+                    for(int i = lo; i < hi; i++) {
+                        final int digit =
+                            FixedBaseTable.window(scalars[i], idx,
+                                                  bits, nbits);
+
+                        if (digit != 0) {
+                            if (buckets[digit - 1] == null) {
+                                buckets[digit - 1] = points[i].clone();
+                            } else {
+                                buckets[digit - 1].add(points[i], scratch);
+                            }
+                        }
+                    }
+                }
+
+                return buckets;
+            } else {
+                final int mid = (lo + hi) >>> 1;
+                final BucketTask<S, P, T> left =
+                    new BucketTask<>(scalars, points, zero, idx, bits,
+                                     nbits, lo, mid);
+                final BucketTask<S, P, T> right =
+                    new BucketTask<>(scalars, points, zero, idx, bits,
+                                     nbits, mid, hi);
+
+                left.fork();
+
+                final P[] rbuckets = right.compute();
+                final P[] out = left.join();
+
+                try(final T scratch = zero.scratchpad()) {
+                    for(int d = 0; d < out.length; d++) {
+                        if (out[d] == null) {
+                            out[d] = rbuckets[d];
+                            rbuckets[d] = null;
+                        } else if (rbuckets[d] != null) {
+                            out[d].add(rbuckets[d], scratch);
+                        }
+                    }
+                } finally {
+                    WindowedNAF.destroy(rbuckets);
+                }
+
+                return out;
+            }
+        }
+    }
+
+    /**
+     * Mutable accumulator for a sum of points.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    private static final class Summation<S extends PrimeField<S>,
+                                         P extends ECPoint<S, P, T>,
+                                         T extends ECPoint.Scratchpad<S>> {
+        private final T scratch;
+        private final P sum;
+
+        /**
+         * Initialize a {@code Summation} to zero.
+         *
+         * @param zero The zero point.  This becomes the sum, and must
+         *             not be used elsewhere.
+         */
+        Summation(final P zero) {
+            this.scratch = zero.scratchpad();
+            this.sum = zero;
+        }
+
+        /**
+         * Add a point into the sum.
+         *
+         * @param point The point to add.  This is not modified.
+         */
+        void accept(final P point) {
+            sum.add(point, scratch);
+        }
+
+        /**
+         * Add another partial sum into this one, and destroy it.
+         *
+         * @param other The other partial sum.
+         * @return This {@code Summation}.
+         */
+        Summation<S, P, T> combine(final Summation<S, P, T> other) {
+            sum.add(other.sum, scratch);
+            other.sum.destroy();
+            other.finish();
+
+            return this;
+        }
+
+        /**
+         * Release the temporaries, and get the sum.
+         *
+         * @return The sum.
+         */
+        P finish() {
+            scratch.close();
+
+            return sum;
+        }
+    }
+
+    /**
+     * Task computing the sum of a range of an array of points.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     */
+    private static final class SumTask<S extends PrimeField<S>,
+                                       P extends ECPoint<S, P, T>,
+                                       T extends ECPoint.Scratchpad<S>>
+        extends RecursiveTask<P> {
+        private static final long serialVersionUID = 1L;
+
+        private final P[] points;
+        private final P zero;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Initialize a {@code SumTask}.
+         *
+         * @param points The points.
+         * @param zero The zero point.
+         * @param lo The index of the first point in the range.
+         * @param hi The index one past the last point in the range.
+         */
+        SumTask(final P[] points,
+                final P zero,
+                final int lo,
+                final int hi) {
+            this.points = points;
+            this.zero = zero;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected P compute() {
+            if (hi - lo < SUM_THRESHOLD) {
+                final Summation<S, P, T> sum = new Summation<>(zero.clone());
+
+                for(int i = lo; i < hi; i++) {
+                    sum.accept(points[i]);
+                }
+
+                return sum.finish();
+            } else {
+                final int mid = (lo + hi) >>> 1;
+                final SumTask<S, P, T> left =
+                    new SumTask<>(points, zero, lo, mid);
+                final SumTask<S, P, T> right =
+                    new SumTask<>(points, zero, mid, hi);
+
+                left.fork();
+
+                try(final P rsum = right.compute();
+                    final T scratch = zero.scratchpad()) {
+                    final P out = left.join();
+
+                    out.add(rsum, scratch);
+
+                    return out;
+                }
+            }
+        }
+    }
+}
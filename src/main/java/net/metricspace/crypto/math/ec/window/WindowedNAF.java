@@ -0,0 +1,382 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.window;
+
+import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Variable-time scalar multiplication using the width-{@code w}
+ * non-adjacent form (wNAF) of the scalar.  In this form, every
+ * non-zero digit is odd and lies in the range {@code (-2^(w-1),
+ * 2^(w-1))}, and any {@code w} consecutive digits contain at most one
+ * non-zero digit.  Multiplication then requires one doubling per bit,
+ * but only about one addition per {@code w + 1} bits, using a table
+ * of odd multiples of the point.
+ * <p>
+ * The table is held in cached form and is deliberately not scaled.
+ * A scaled entry would let each addition use {@link ECPoint#madd},
+ * which saves one multiplication, but each entry is only used a
+ * handful of times per scalar, and scaling the table, even with a
+ * single shared inversion, costs more than that saves.
+ * <p>
+ * <b>This is not constant-time.</b>  Both the sequence of point
+ * operations and the table accesses depend on the scalar, so it must
+ * only be used with public scalars, such as when verifying
+ * signatures.
+ */
+public final class WindowedNAF {
+    /**
+     * Default window width.
+     */
+    public static final int WIDTH = 5;
+
+    private WindowedNAF() {}
+
+    /**
+     * Recode a scalar into width-{@code w} non-adjacent form.
+     *
+     * @param <S> Scalar values.
+     * @param scalar The scalar value.
+     * @param width The window width {@code w}.
+     * @return The digits, least significant first.
+     */
+    static <S extends PrimeField<S>> int[] recode(final S scalar,
+                                                  final int width) {
+        final int nbits = scalar.numBits() + 1;
+        final int size = 1 << width;
+        final int[] out = new int[nbits + width + 1];
+        int carry = 0;
+        int pos = 0;
+
+        while (pos < nbits || carry != 0) {
+            final int digit = FixedBaseTable.window(scalar, pos,
+                                                    width, nbits) + carry;
+
+            /* An even window means a zero digit here.  The carry
+             * is unchanged, as it either was zero, or it combined
+             * with a set bit to carry into the next position. */
+            if ((digit & 0x1) == 0) {
+                pos++;
+
+                continue;
+            }
+
+            if (digit < (size >>> 1)) {
+                carry = 0;
+                out[pos] = digit;
+            } else {
+                carry = 1;
+                out[pos] = digit - size;
+            }
+
+            pos += width;
+        }
+
+        return out;
+    }
+
+    /**
+     * Multiply a point by a scalar.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point to multiply, replaced with the result.
+     * @param scalar The scalar by which to multiply.
+     * @param width The window width.
+     * @param scratch The scratchpad to use.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mul(final ECPoint<S, P, T> point,
+                 final S scalar,
+                 final int width,
+                 final T scratch) {
+        final int[] digits = recode(scalar, width);
+        final ECPoint.Cached<S, P, T>[] table =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[1 << (width - 2)];
+        final ECPoint.Cached<S, P, T>[] negtable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[table.length];
+
+        try {
+            oddMultiples(point, table, negtable, scratch);
+            point.reset(scratch);
+
+            int top = digits.length - 1;
+
+            while (top >= 0 && digits[top] == 0) {
+                top--;
+            }
+
+            /* Defer doublings until the next addition, so that runs
+             * of zero digits become a single chain.
+             */
+            int dbls = 0;
+
+            for(int i = top; i >= 0; i--) {
+                final int digit = digits[i];
+
+                if (i != top) {
+                    dbls++;
+                }
+
+                if (digit != 0) {
+                    point.dbl(dbls, scratch);
+                    dbls = 0;
+                }
+
+                if (digit > 0) {
+                    point.add(table[digit >>> 1], scratch);
+                } else if (digit < 0) {
+                    point.add(negtable[(-digit) >>> 1], scratch);
+                }
+            }
+
+            point.dbl(dbls, scratch);
+        } finally {
+            destroy(table);
+            destroy(negtable);
+        }
+    }
+
+    /**
+     * Multiply a point by a scalar, using the default window width.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point to multiply, replaced with the result.
+     * @param scalar The scalar by which to multiply.
+     * @param scratch The scratchpad to use.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mul(final ECPoint<S, P, T> point,
+                 final S scalar,
+                 final T scratch) {
+        mul(point, scalar, WIDTH, scratch);
+    }
+
+    /**
+     * Compute {@code a * point + b * q}, in variable time.  The two
+     * multiplications are interleaved, so that they share a single
+     * sequence of doublings.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The first point, replaced with the result.
+     * @param a The scalar by which to multiply {@code point}.
+     * @param q The second point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param width The window width.
+     * @param scratch The scratchpad to use.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mulAdd(final ECPoint<S, P, T> point,
+                    final S a,
+                    final P q,
+                    final S b,
+                    final int width,
+                    final T scratch) {
+        final int[] adigits = recode(a, width);
+        final int[] bdigits = recode(b, width);
+        final ECPoint.Cached<S, P, T>[] atable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[1 << (width - 2)];
+        final ECPoint.Cached<S, P, T>[] anegtable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[atable.length];
+        final ECPoint.Cached<S, P, T>[] btable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[atable.length];
+        final ECPoint.Cached<S, P, T>[] bnegtable =
+            (ECPoint.Cached<S, P, T>[])new ECPoint.Cached[atable.length];
+
+        try {
+            oddMultiples(point, atable, anegtable, scratch);
+            oddMultiples(q, btable, bnegtable, scratch);
+            point.reset(scratch);
+
+            int top = Math.max(adigits.length, bdigits.length) - 1;
+
+            while (top >= 0 && digit(adigits, top) == 0 &&
+                   digit(bdigits, top) == 0) {
+                top--;
+            }
+
+            /* Defer doublings until the next addition, so that runs
+             * of zero digits become a single chain.
+             */
+            int dbls = 0;
+
+            for(int i = top; i >= 0; i--) {
+                final int adigit = digit(adigits, i);
+                final int bdigit = digit(bdigits, i);
+
+                if (i != top) {
+                    dbls++;
+                }
+
+                if (adigit != 0 || bdigit != 0) {
+                    point.dbl(dbls, scratch);
+                    dbls = 0;
+                }
+
+                if (adigit > 0) {
+                    point.add(atable[adigit >>> 1], scratch);
+                } else if (adigit < 0) {
+                    point.add(anegtable[(-adigit) >>> 1], scratch);
+                }
+
+                if (bdigit > 0) {
+                    point.add(btable[bdigit >>> 1], scratch);
+                } else if (bdigit < 0) {
+                    point.add(bnegtable[(-bdigit) >>> 1], scratch);
+                }
+            }
+
+            point.dbl(dbls, scratch);
+        } finally {
+            destroy(atable);
+            destroy(anegtable);
+            destroy(btable);
+            destroy(bnegtable);
+        }
+    }
+
+    /**
+     * Compute {@code a * point + b * q}, in variable time, using the
+     * default window width.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The first point, replaced with the result.
+     * @param a The scalar by which to multiply {@code point}.
+     * @param q The second point.
+     * @param b The scalar by which to multiply {@code q}.
+     * @param scratch The scratchpad to use.
+     */
+    public static <S extends PrimeField<S>,
+                   P extends ECPoint<S, P, T>,
+                   T extends ECPoint.Scratchpad<S>>
+        void mulAdd(final ECPoint<S, P, T> point,
+                    final S a,
+                    final P q,
+                    final S b,
+                    final T scratch) {
+        mulAdd(point, a, q, b, WIDTH, scratch);
+    }
+
+    /**
+     * Get a digit from a recoded scalar, treating digits past the
+     * end as zero.
+     *
+     * @param digits The recoded scalar.
+     * @param idx The index of the digit.
+     * @return The digit.
+     */
+    static int digit(final int[] digits,
+                     final int idx) {
+        return idx < digits.length ? digits[idx] : 0;
+    }
+
+    /**
+     * Fill in tables of odd multiples of a point.
+     *
+     * @param <S> Scalar values.
+     * @param <P> Point type.
+     * @param <T> Scratchpad type.
+     * @param point The point.
+     * @param table Filled in with {@code (2 * i + 1) * point}, in
+     *              cached form.
+     * @param negtable Filled in with {@code -(2 * i + 1) * point}, in
+     *                 cached form.
+     * @param scratch The scratchpad to use.
+     * @see ECPoint#cache(ECPoint.Scratchpad)
+     */
+    static <S extends PrimeField<S>,
+            P extends ECPoint<S, P, T>,
+            T extends ECPoint.Scratchpad<S>>
+        void oddMultiples(final ECPoint<S, P, T> point,
+                          final ECPoint.Cached<S, P, T>[] table,
+                          final ECPoint.Cached<S, P, T>[] negtable,
+                          final T scratch) {
+        try(final P multiple = point.clone();
+            final P dbl = point.clone()) {
+            dbl.dbl(scratch);
+
+            try(final ECPoint.Cached<S, P, T> two = dbl.cache(scratch)) {
+                for(int i = 0; i < table.length; i++) {
+                    if (i != 0) {
+                        multiple.add(two, scratch);
+                    }
+
+                    table[i] = multiple.cache(scratch);
+                    negtable[i] = table[i].clone();
+                    negtable[i].neg(1, scratch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Destroy all the points in a table.
+     *
+     * @param table The table to destroy.
+     */
+    static void destroy(final ECPoint<?, ?, ?>[] table) {
+        for(int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                table[i].destroy();
+            }
+        }
+    }
+
+    /**
+     * Destroy all the cached points in a table.
+     *
+     * @param table The table to destroy.
+     */
+    static void destroy(final ECPoint.Cached<?, ?, ?>[] table) {
+        for(int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                table[i].destroy();
+            }
+        }
+    }
+}
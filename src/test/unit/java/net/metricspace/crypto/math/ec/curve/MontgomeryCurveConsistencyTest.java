@@ -54,4 +54,21 @@ public abstract class
     public void checkMontgomeryA() {
         Assert.assertEquals(curve.montgomeryA(), montgomeryA);
     }
+
+    @Test
+    public void checkConstants() {
+        final CurveConstants<F> constants = curve.constants();
+        final F ninv = constants.nonresidueInv.clone();
+        final F one = montgomeryA.clone();
+
+        ninv.mul(((TwistedEdwardsCurve<?>)curve).nonresidue());
+        one.set(1);
+        Assert.assertEquals(constants.montgomeryA, montgomeryA);
+        Assert.assertEquals(constants.montgomeryB, curve.montgomeryB());
+        Assert.assertEquals(constants.montgomeryLadderParam,
+                            MontgomeryCurve.ladderParam(montgomeryA));
+        Assert.assertEquals(curve.montgomeryLadderParam(),
+                            constants.montgomeryLadderParam);
+        Assert.assertEquals(ninv, one);
+    }
 }
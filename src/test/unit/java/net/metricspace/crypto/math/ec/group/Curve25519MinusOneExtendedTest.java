@@ -0,0 +1,90 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.group;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import net.metricspace.crypto.math.ec.point.Curve25519ExtendedPoint;
+import net.metricspace.crypto.math.ec.point.Curve25519MinusOneExtendedPoint;
+import net.metricspace.crypto.math.field.ModE255M19;
+
+public class Curve25519MinusOneExtendedTest
+    extends Curve25519Test<Curve25519MinusOneExtendedPoint,
+                           Curve25519MinusOneExtended> {
+    private static final String PRIME_ORDER =
+        "1000000000000000000000000000000014def9dea2f79cd65812631a5cf5d3ed";
+
+    public Curve25519MinusOneExtendedTest() {
+        super(new Curve25519MinusOneExtended(), PRIME_ORDER);
+    }
+
+    @Test(description = "Test against the a = 486664 representation")
+    public void isomorphismTest() {
+        final Curve25519Extended other = new Curve25519Extended();
+
+        for(int i = 1; i <= 16; i++) {
+            final ModE255M19 scalar = new ModE255M19(i * 0x9e3779b9L);
+            final Curve25519MinusOneExtendedPoint p = group.mulBase(scalar);
+            final Curve25519ExtendedPoint q = other.mulBase(scalar);
+
+            p.tpl();
+            p.add(basePoint);
+            q.tpl();
+            q.add(other.basePoint());
+            Assert.assertEquals(p.edwardsX(), q.edwardsX());
+            Assert.assertEquals(p.edwardsY(), q.edwardsY());
+            Assert.assertEquals(p.montgomeryX(), q.montgomeryX());
+            Assert.assertEquals(p.montgomeryY(), q.montgomeryY());
+        }
+    }
+
+    @Test(description = "Test hash encoding against the a = 486664 "
+                        + "representation")
+    public void isomorphismEncodeTest() {
+        final Curve25519Extended other = new Curve25519Extended();
+
+        for(int i = 1; i <= 16; i++) {
+            final ModE255M19 scalar = new ModE255M19(i * 0x9e3779b9L);
+            final Curve25519MinusOneExtendedPoint p = group.mulBase(scalar);
+            final Curve25519ExtendedPoint q = other.mulBase(scalar);
+            final boolean canEncode = q.canEncode();
+
+            Assert.assertEquals(p.canEncode(), canEncode);
+
+            if (canEncode) {
+                Assert.assertEquals(p.encodeHash(), q.encodeHash());
+            }
+        }
+    }
+}
@@ -31,11 +31,15 @@
  */
 package net.metricspace.crypto.math.ec.group;
 
+import java.util.Arrays;
+import java.util.BitSet;
+
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import net.metricspace.crypto.math.ec.point.ECPoint;
+import net.metricspace.crypto.math.ec.point.TwistedEdwardsPoint;
 import net.metricspace.crypto.math.field.PrimeField;
 
 @Test(groups = "unit")
@@ -45,7 +49,7 @@ public abstract class ECGroupTest<S extends PrimeField<S>,
     protected final S primeOrder;
     protected final P basePoint;
     protected final P zeroPoint;
-    private final G group;
+    protected final G group;
     private final String baseXString;
     private final String baseYString;
     private final String primeOrderString;
@@ -86,4 +90,229 @@ public abstract class ECGroupTest<S extends PrimeField<S>,
 
         Assert.assertEquals(point, zeroPoint);
     }
+
+    @Test(description = "Test variable-time multiplication by the prime order")
+    public void primeOrderMulVartimeTest() {
+        final P point = basePoint.clone();
+
+        point.mulVartime(primeOrder);
+
+        Assert.assertEquals(point, zeroPoint);
+    }
+
+    @Test(description = "Test cofactor clearing")
+    public void clearCofactorTest() {
+        final P point = basePoint.clone();
+        final P expected = basePoint.clone();
+
+        Assert.assertEquals(basePoint.cofactor(), group.cofactor());
+
+        point.clearCofactor();
+        expected.mulSmall(group.cofactor());
+
+        Assert.assertEquals(point, expected);
+
+        point.mulVartime(primeOrder);
+
+        Assert.assertEquals(point, zeroPoint);
+    }
+
+    @Test(description = "Test variable-time multiplication against mul")
+    public void mulVartimeTest() {
+        final S scalar = primeOrder.clone();
+
+        scalar.sub(1);
+
+        final P expected = basePoint.clone();
+        final P point = basePoint.clone();
+
+        expected.mul(scalar);
+        point.mulVartime(scalar);
+
+        Assert.assertEquals(point, expected);
+    }
+
+    @Test(description = "Test double-scalar multiplication summing to " +
+          "the prime order")
+    public void primeOrderMulAddTest() {
+        final S scalar = primeOrder.clone();
+        final S one = primeOrder.clone();
+        final P point = basePoint.clone();
+        final P vartimepoint = basePoint.clone();
+
+        scalar.sub(1);
+        one.set(1);
+        point.mulAdd(scalar, basePoint, one);
+        vartimepoint.mulAddVartime(scalar, basePoint, one);
+
+        Assert.assertEquals(point, zeroPoint);
+        Assert.assertEquals(vartimepoint, zeroPoint);
+        Assert.assertEquals(group.mulBaseAdd(scalar, basePoint, one),
+                            zeroPoint);
+        Assert.assertEquals(group.mulBaseAddVartime(scalar, basePoint, one),
+                            zeroPoint);
+    }
+
+    @Test(description = "Test fused double-scalar multiplication with " +
+          "the base point against separate multiplications")
+    public void mulBaseAddTest() {
+        final S a = primeOrder.clone();
+        final S b = primeOrder.clone();
+        final P q = basePoint.clone();
+
+        a.sub(0x3c5a7);
+        b.sub(0x1f0e3d);
+        q.mul(a);
+
+        final P expected = group.mulBase(a);
+
+        try(final P bq = q.clone()) {
+            bq.mul(b);
+            expected.add(bq);
+        }
+
+        Assert.assertEquals(group.mulBaseAdd(a, q, b), expected);
+        Assert.assertEquals(group.mulBaseAddVartime(a, q, b), expected);
+    }
+
+    @Test(description = "Test fixed-base multiplication by the prime order")
+    public void primeOrderMulBaseTest() {
+        final P point = group.mulBase(primeOrder);
+
+        Assert.assertEquals(point, zeroPoint);
+    }
+
+    @Test(description = "Test fixed-base multiplication against mul")
+    public void mulBaseTest() {
+        final S scalar = primeOrder.clone();
+
+        for(final int n : new int[] { 0, 1, 2, 15, 16, 17, 1000003 }) {
+            final P expected = basePoint.clone();
+
+            scalar.set(n);
+            expected.mul(scalar);
+
+            Assert.assertEquals(group.mulBase(scalar), expected);
+        }
+
+        scalar.set(primeOrder);
+        scalar.sub(1);
+
+        final P point = group.mulBase(scalar);
+
+        point.add(basePoint);
+
+        Assert.assertEquals(point, zeroPoint);
+    }
+
+    @Test(description = "Test multi-scalar multiplication against mulBase")
+    @SuppressWarnings("unchecked")
+    public void msmVartimeTest() {
+        for(final int n : new int[] { 0, 1, 3, 40 }) {
+            final S[] scalars = (S[])new PrimeField[n];
+            final P[] points = (P[])new ECPoint[n];
+            final S sum = primeOrder.clone();
+
+            sum.set(n * (n + 1) / 2);
+
+            for(int i = 0; i < n; i++) {
+                scalars[i] = primeOrder.clone();
+                scalars[i].sub(i + 1);
+                points[i] = basePoint.clone();
+            }
+
+            final P expected = group.mulBase(sum);
+
+            expected.neg();
+
+            Assert.assertEquals(group.msmVartime(scalars, points), expected);
+        }
+    }
+
+    @Test(description = "Test msmVartime with enough points to split buckets")
+    @SuppressWarnings("unchecked")
+    public void msmVartimeLargeTest() {
+        final int n = 2100;
+        final S[] scalars = (S[])new PrimeField[n];
+        final P[] points = (P[])new ECPoint[n];
+        final S sum = primeOrder.clone();
+
+        sum.set(n * (n + 1) / 2);
+
+        for(int i = 0; i < n; i++) {
+            scalars[i] = primeOrder.clone();
+            scalars[i].set(i + 1);
+            points[i] = basePoint.clone();
+        }
+
+        final P expected = group.mulBase(sum);
+
+        Assert.assertEquals(group.msmVartime(scalars, points), expected);
+    }
+
+    @Test(description = "Test point summation against mulBase")
+    @SuppressWarnings("unchecked")
+    public void sumTest() {
+        for(final int n : new int[] { 0, 1, 3, 300 }) {
+            final P[] points = (P[])new ECPoint[n];
+            final S sum = primeOrder.clone();
+            final P point = zeroPoint.clone();
+
+            sum.set(n * (n + 1) / 2);
+
+            for(int i = 0; i < n; i++) {
+                point.add(basePoint);
+                points[i] = point.clone();
+
+                /* Mix scaled and unscaled points */
+                if (i % 2 == 0) {
+                    points[i].scale();
+                }
+            }
+
+            final P expected = group.mulBase(sum);
+
+            Assert.assertEquals(group.sum(points), expected);
+            Assert.assertEquals(Arrays.stream(points).parallel()
+                                .collect(group.summing()), expected);
+        }
+    }
+
+    @Test(description = "Test batch validation of untrusted points")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void validateAllTest() {
+        final int n = 300;
+        final P[] points = (P[])new ECPoint[n];
+        final P point = zeroPoint.clone();
+        final BitSet expected = new BitSet(n);
+        final S x = (S)((TwistedEdwardsPoint)basePoint).edwardsX();
+        final S y = (S)((TwistedEdwardsPoint)basePoint).edwardsY();
+
+        for(int i = 0; i < n; i++) {
+            point.add(basePoint);
+            points[i] = point.clone();
+        }
+
+        expected.set(0, n);
+        Assert.assertEquals(group.validateAll(points), expected);
+
+        /* (x, y + 1) is not on the curve */
+        y.add(1);
+        ((TwistedEdwardsPoint)points[7]).setEdwards(x, y);
+        y.sub(1);
+        expected.clear(7);
+
+        /* (-x, -y) is the sum of (x, y) and the point of order 2 */
+        x.neg();
+        y.neg();
+        ((TwistedEdwardsPoint)points[3]).setEdwards(x, y);
+
+        if (group.cofactor() != 1) {
+            expected.clear(3);
+        }
+
+        Assert.assertEquals(group.validateAll(points), expected);
+        Assert.assertEquals(group.validateAll(Arrays.copyOf(points, 10)),
+                            expected.get(0, 10));
+    }
 }
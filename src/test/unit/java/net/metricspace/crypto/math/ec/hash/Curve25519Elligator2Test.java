@@ -107,4 +107,25 @@ public class Curve25519Elligator2Test
     public Curve25519Elligator2Test() {
         super(encoded, points);
     }
+
+    @Test(description = "Test that the hash 0 decodes to (0, -1)")
+    public void decodeZeroTest() {
+        final ModE255M19 negone = new ModE255M19(1);
+        final Curve25519ProjectivePoint actual = BASE_POINT.clone();
+
+        negone.neg();
+
+        final Curve25519ProjectivePoint expected =
+            Curve25519ProjectivePoint.fromEdwards(new ModE255M19(0), negone);
+
+        actual.decodeHash(new ModE255M19(0));
+
+        try(final Curve25519ProjectivePoint.Scratchpad scratch =
+                actual.scratchpad()) {
+            Assert.assertEquals(actual.onCurve(scratch), 1);
+        }
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertNotEquals(actual, Curve25519ProjectivePoint.zero());
+    }
 }
@@ -0,0 +1,154 @@
+/* Copyright (c) 2018, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.ec.hash;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import net.metricspace.crypto.math.ec.group.Curve25519Projective;
+import net.metricspace.crypto.math.ec.point.Curve25519ProjectivePoint;
+import net.metricspace.crypto.math.field.ModE255M19;
+
+@Test(groups = "unit")
+public class ElligatorKeyGeneratorTest {
+    private static final Curve25519Projective group =
+        new Curve25519Projective();
+
+    @Test(description = "Test that generated key pairs are consistent")
+    public void keyPairTest() throws InterruptedException {
+        final AtomicLong counter = new AtomicLong(1);
+
+        try(final ElligatorKeyGenerator<ModE255M19,
+                                        Curve25519ProjectivePoint,
+                                        Curve25519ProjectivePoint.Scratchpad>
+                generator = new ElligatorKeyGenerator<>(group,
+                    () -> new ModE255M19(counter.getAndIncrement()),
+                    2, 4, 3)) {
+            for(int i = 0; i < 8; i++) {
+                final ElligatorKeyGenerator.KeyPair<ModE255M19,
+                                                    Curve25519ProjectivePoint>
+                    pair = generator.poll(1, TimeUnit.MINUTES);
+
+                Assert.assertNotNull(pair);
+                Assert.assertEquals(pair.point, group.mulBase(pair.scalar));
+                Assert.assertTrue(pair.point.canEncode());
+                Assert.assertEquals(pair.representative,
+                                    pair.point.encodeHash());
+            }
+        }
+    }
+
+    @Test(description = "Test that a closed generator cannot be used",
+          expectedExceptions = IllegalStateException.class)
+    public void closedTest() throws InterruptedException {
+        final ElligatorKeyGenerator<ModE255M19,
+                                    Curve25519ProjectivePoint,
+                                    Curve25519ProjectivePoint.Scratchpad>
+            generator = new ElligatorKeyGenerator<>(group,
+                () -> new ModE255M19(1), 1, 1, 1);
+
+        generator.close();
+        generator.take();
+    }
+
+    @Test(description = "Test that closing a generator wakes up a " +
+          "consumer blocked in take")
+    public void closeWhileBlockedTest()
+        throws InterruptedException, TimeoutException {
+        /* Never produce a scalar until the workers are interrupted */
+        final ElligatorKeyGenerator<ModE255M19,
+                                    Curve25519ProjectivePoint,
+                                    Curve25519ProjectivePoint.Scratchpad>
+            generator = new ElligatorKeyGenerator<>(group, () -> {
+                    try {
+                        Thread.sleep(Long.MAX_VALUE);
+                    } catch(final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return new ModE255M19(1);
+                }, 1, 1, 1);
+        final CompletableFuture<Object> consumer =
+            CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return generator.take();
+                    } catch(final InterruptedException e) {
+                        return e;
+                    }
+                });
+
+        Thread.sleep(200);
+        Assert.assertFalse(consumer.isDone());
+        generator.close();
+
+        try {
+            consumer.get(10, TimeUnit.SECONDS);
+            Assert.fail("take returned after close");
+        } catch(final ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(description = "Test that a failure in the scalar source is " +
+          "reported to consumers")
+    public void failingScalarsTest() throws InterruptedException {
+        final RuntimeException failure =
+            new UnsupportedOperationException("No scalars");
+
+        try(final ElligatorKeyGenerator<ModE255M19,
+                                        Curve25519ProjectivePoint,
+                                        Curve25519ProjectivePoint.Scratchpad>
+                generator = new ElligatorKeyGenerator<>(group, () -> {
+                        throw failure;
+                    }, 2, 4, 3)) {
+            try {
+                generator.take();
+                Assert.fail("take returned a key pair");
+            } catch(final IllegalStateException e) {
+                Assert.assertSame(e.getCause(), failure);
+            }
+
+            try {
+                generator.poll(1, TimeUnit.MINUTES);
+                Assert.fail("poll returned a key pair");
+            } catch(final IllegalStateException e) {
+                Assert.assertSame(e.getCause(), failure);
+            }
+        }
+    }
+}
@@ -87,4 +87,86 @@ public abstract class ElligatorTest<S extends PrimeField<S>,
             Assert.assertFalse(expected.canEncode());
         }
     }
+
+    @Test(dataProvider = "points",
+          description = "Test that canEncode does not depend on scaling")
+    public void testCanEncodeScaled(final S encoded,
+                                    final P point) {
+        final S scalar = point.getX();
+
+        for(int i = 2; i < 8; i++) {
+            final P actual = point.clone();
+
+            scalar.set(i);
+            actual.mul(scalar);
+
+            final boolean expected = actual.clone().canEncode();
+
+            actual.scale();
+
+            Assert.assertEquals(actual.canEncode(), expected);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test that decoded hashes encode and decode again")
+    public void testRoundTrip(final S encoded,
+                              final P point) {
+        final S code = point.getX();
+
+        for(int i = 1; i < 8; i++) {
+            final P decoded = point.clone();
+
+            code.set(i);
+            decoded.reset();
+            decoded.decodeHash(code);
+
+            if (decoded.canEncode()) {
+                final P actual = point.clone();
+
+                actual.reset();
+                actual.decodeHash(decoded.encodeHash());
+
+                Assert.assertEquals(actual, decoded);
+            }
+        }
+    }
+
+    @Test(description = "Test batch decoding against single decoding")
+    @SuppressWarnings("unchecked")
+    public void testDecodeAll() {
+        int n = 0;
+
+        for(int i = 0; i < pointsData.length; i++) {
+            if (pointsData[i][0] != null) {
+                n++;
+            }
+        }
+
+        final S[] encoded = (S[])new PrimeField[n];
+        final P[] actual = (P[])new Elligator[n];
+        final P[] expected = (P[])new Elligator[n];
+
+        for(int i = 0, j = 0; i < pointsData.length; i++) {
+            if (pointsData[i][0] != null) {
+                encoded[j] = (S)pointsData[i][0];
+                actual[j] = ((P)pointsData[i][1]).clone();
+                actual[j].reset();
+                expected[j] = actual[j].clone();
+                expected[j].decodeHash(encoded[j]);
+                j++;
+            }
+        }
+
+        if (n != 0) {
+            try(final ECPoint.Scratchpad scratch = actual[0].scratchpad()) {
+                Elligator.decodeHashAll(encoded, (Elligator[])actual,
+                                        scratch);
+            }
+        }
+
+        for(int i = 0; i < n; i++) {
+            Assert.assertEquals(actual[i], expected[i]);
+        }
+    }
 }
@@ -31,12 +31,15 @@
  */
 package net.metricspace.crypto.math.ec.ladder;
 
+import java.util.Arrays;
+
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import net.metricspace.crypto.math.ec.group.ECGroupTest;
 import net.metricspace.crypto.math.ec.group.MontgomeryCurveGroup;
+import net.metricspace.crypto.math.ec.point.ECPoint;
 import net.metricspace.crypto.math.field.PrimeField;
 
 public abstract class
@@ -58,4 +61,150 @@ public abstract class
 
         Assert.assertEquals(zeroxcoord, zeroPoint.montgomeryX());
     }
+
+    @Test(description = "Test ladder multiplication by the prime order")
+    public void primeOrderMulLadderTest() {
+        final P point = basePoint.clone();
+
+        point.mulLadder(primeOrder);
+
+        Assert.assertEquals(point, zeroPoint);
+    }
+
+    @Test(description = "Test ladder multiplication by one less than " +
+          "the prime order")
+    public void primeOrderMinusOneMulLadderTest() {
+        final S scalar = primeOrder.clone();
+        final P point = basePoint.clone();
+        final P expected = basePoint.clone();
+
+        scalar.sub(1);
+        point.mulLadder(scalar);
+        expected.neg();
+
+        Assert.assertEquals(point, expected);
+    }
+
+    @Test(description = "Test fixed-length ladder multiplication")
+    public void fixedLadderTest() {
+        final S scalar = primeOrder.clone();
+        final P point = basePoint.clone();
+        final P expected = basePoint.clone();
+
+        scalar.set(5);
+        point.mulLadder(scalar, 3);
+        expected.mulVartime(scalar);
+
+        Assert.assertEquals(point, expected);
+        Assert.assertEquals(basePoint.mulX(scalar, group.ladderBits()),
+                            basePoint.mulX(scalar));
+    }
+
+    @Test(description = "Test clamped scalars")
+    public void clampScalarTest() {
+        final byte[] bytes = new byte[group.ladderBits() / 8 + 1];
+
+        /* Avoid the few clamped values that the field reduces */
+        Arrays.fill(bytes, (byte)0xa5);
+
+        final S scalar = group.clampScalar(bytes);
+        final P point = basePoint.clone();
+        final P expected = basePoint.clone();
+
+        Assert.assertEquals(group.ladderBits(),
+                            ECPoint.scalarBits(primeOrder));
+        Assert.assertEquals(scalar.numBits(), group.ladderBits());
+        Assert.assertEquals(scalar.bit(0), 0);
+        Assert.assertEquals(scalar.bit(1), 0);
+        Assert.assertEquals(scalar.bit(2), 0);
+
+        point.mulLadder(scalar, group.ladderBits());
+        expected.mulVartime(scalar);
+
+        Assert.assertEquals(point, expected);
+    }
+
+    @Test(description = "Test batched ladder against mulX")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void mulXBatchTest() {
+        final P[] points = (P[])new MontgomeryLadder[4];
+        final S[] scalars = (S[])new PrimeField[4];
+
+        for(int i = 0; i < points.length; i++) {
+            points[i] = basePoint.clone();
+            scalars[i] = primeOrder.clone();
+        }
+
+        points[1].dbl();
+        points[2].dbl();
+        points[2].add(basePoint);
+        scalars[0].sub(1);
+        scalars[1].set(5);
+        scalars[2].set(1000003);
+
+        final S[] xs = (S[])MontgomeryLadder.mulXBatch(
+            (MontgomeryLadder[])points, scalars, primeOrder.numBits(),
+            (MontgomeryLadder.Scratchpad)points[0].scratchpad());
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertEquals(xs[i], points[i].mulX(scalars[i]));
+        }
+    }
+
+    @Test(description = "Test that the batched ladder rejects bad " +
+          "step counts")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void mulXBatchBadBitsTest() {
+        final P[] points = (P[])new MontgomeryLadder[] { basePoint.clone() };
+        final S[] scalars = (S[])new PrimeField[] { primeOrder.clone() };
+        final int width = ECPoint.scalarBits(primeOrder);
+
+        for(final int nbits : new int[] { 0, width + 1,
+                                          primeOrder.numBits() - 1 }) {
+            try {
+                MontgomeryLadder.mulXBatch(
+                    (MontgomeryLadder[])points, scalars, nbits,
+                    (MontgomeryLadder.Scratchpad)points[0].scratchpad());
+                Assert.fail("Expected IllegalArgumentException");
+            } catch(final IllegalArgumentException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test(description = "Test one-scalar batched ladder against mulX")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void mulXAllTest() {
+        final P[] points = (P[])new MontgomeryLadder[4];
+        final S[] xs = (S[])new PrimeField[points.length];
+        final S scalar = primeOrder.clone();
+
+        for(int i = 0; i < points.length; i++) {
+            points[i] = basePoint.clone();
+        }
+
+        points[1].dbl();
+        points[2].dbl();
+        points[2].add(basePoint);
+        points[3] = zeroPoint.clone();
+        scalar.sub(1000003);
+
+        /* Elements already in the output array belong to the caller */
+        final S[] prev = (S[])new PrimeField[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            prev[i] = scalar.clone();
+            xs[i] = prev[i];
+        }
+
+        MontgomeryLadder.mulXAll((PrimeField)scalar,
+                                 (MontgomeryLadder[])points,
+                                 (PrimeField[])xs);
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertEquals(xs[i], points[i].mulX(scalar));
+            Assert.assertFalse(prev[i].isDestroyed());
+            Assert.assertEquals(prev[i], scalar);
+        }
+    }
 }
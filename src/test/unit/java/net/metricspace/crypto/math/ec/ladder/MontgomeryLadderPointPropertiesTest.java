@@ -62,4 +62,18 @@ public abstract class
 
         Assert.assertEquals(mulxcoord, mulpoint.montgomeryX());
     }
+
+    @Test(dataProvider = "mulpoints",
+          description = "Test that the Montgomery ladder and scalar " +
+          "multiplication are the same")
+    public void mulLadderTest(final S ninput,
+                              final P input) {
+        final P mulpoint = input.clone();
+        final P ladderpoint = input.clone();
+
+        mulpoint.mul(ninput);
+        ladderpoint.mulLadder(ninput);
+
+        Assert.assertEquals(ladderpoint, mulpoint);
+    }
 }
@@ -31,12 +31,15 @@
  */
 package net.metricspace.crypto.math.ec.point;
 
+import java.util.BitSet;
+
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import net.metricspace.crypto.math.ec.point.DecafPoint;
 import net.metricspace.crypto.math.ec.point.EdwardsPoint;
+import net.metricspace.crypto.math.ec.group.DecafGroup;
 import net.metricspace.crypto.math.ec.group.EdwardsCurveGroup;
 import net.metricspace.crypto.math.field.PrimeField;
 
@@ -46,6 +49,7 @@ public abstract class
                              G extends EdwardsCurveGroup<S, P, ?>>
     extends EdwardsPointPropertiesTest<S, P, G> {
     private final Object[][] compressedPoints;
+    private final G group;
 
     protected DecafPointPropertiesTest(final S[] coefficients,
                                        final P[] points,
@@ -53,6 +57,7 @@ public abstract class
                                        final G group) {
         super(coefficients, points, group);
 
+        this.group = group;
         compressedPoints = new Object[points.length][2];
 
         for(int i = 0; i < points.length; i++) {
@@ -85,4 +90,84 @@ public abstract class
 
         Assert.assertEquals(actual, expected);
     }
+
+    @Test(dataProvider = "points",
+          description = "Test batch compression against single compression")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void compressAllTest(final P input) {
+        final P[] points = batchPoints(input);
+        final S[] actual = (S[])new PrimeField[points.length];
+        final S[] expected = (S[])new PrimeField[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            expected[i] = points[i].clone().compress();
+        }
+
+        final S[] factors = (S[])new PrimeField[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            factors[i] = points[i].scaleFactorRef().clone();
+        }
+
+        DecafPoint.compressAll((DecafPoint[])points, (PrimeField[])actual);
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertEquals(actual[i], expected[i]);
+            /* The caller's points are left as they were */
+            Assert.assertEquals(points[i].scaleFactorRef(), factors[i]);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test batch double-and-compress against doubling")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void doubleAndCompressAllTest(final P input) {
+        final P[] points = batchPoints(input);
+        final S[] actual = (S[])new PrimeField[points.length];
+        final S[] expected = (S[])new PrimeField[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            final P doubled = points[i].clone();
+
+            doubled.dbl();
+            expected[i] = doubled.compress();
+        }
+
+        DecafPoint.doubleAndCompressAll((DecafPoint[])points,
+                                        (PrimeField[])actual);
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertEquals(actual[i], expected[i]);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test batch decompression and validation")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void fromCompressedAllTest(final P input) {
+        final P[] points = batchPoints(input);
+        final S[] compressed = (S[])new PrimeField[points.length + 1];
+        final P[] actual = (P[])new EdwardsDecafPoint[compressed.length];
+
+        for(int i = 0; i < points.length; i++) {
+            compressed[i] = points[i].compress();
+        }
+
+        /* Negative encodings are always invalid. */
+        compressed[points.length] = compressed[0].clone();
+        compressed[points.length].set(1);
+        compressed[points.length].neg();
+
+        final BitSet valid =
+            ((DecafGroup)group).fromCompressedAll((PrimeField[])compressed,
+                                                  (DecafPoint[])actual);
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertTrue(valid.get(i));
+            Assert.assertEquals(actual[i], points[i]);
+        }
+
+        Assert.assertFalse(valid.get(points.length));
+        Assert.assertEquals(actual[points.length], zeroPoint);
+    }
 }
@@ -31,6 +31,8 @@
  */
 package net.metricspace.crypto.math.ec.point;
 
+import java.lang.reflect.Array;
+
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -133,6 +135,18 @@ public abstract class ECPointPropertiesTest<S extends PrimeField<S>,
         Assert.assertEquals(resetpoint, zeroPoint);
     }
 
+    @Test(dataProvider = "points",
+          description = "Test that adding a point to its negation " +
+          "produces a zero point")
+    public void addNegTest(final P input) {
+        final P negpoint = input.clone();
+
+        negpoint.neg();
+        negpoint.add(input);
+
+        Assert.assertEquals(negpoint, zeroPoint);
+    }
+
     @Test(dataProvider = "points",
           description = "Test that double and adding to itself are the same")
     public void addDblTest(final P input) {
@@ -192,4 +206,348 @@ public abstract class ECPointPropertiesTest<S extends PrimeField<S>,
 
         Assert.assertEquals(mulpoint, addpoint);
     }
+
+    @Test(dataProvider = "mulpoints",
+          description = "Test that variable-time and constant-time "+
+          "scalar multiplication are the same")
+    public void mulVartimeTest(final S ninput,
+                               final P input) {
+        final P mulpoint = input.clone();
+        final P vartimepoint = input.clone();
+
+        mulpoint.mul(ninput);
+        vartimepoint.mulVartime(ninput);
+
+        Assert.assertEquals(vartimepoint, mulpoint);
+    }
+
+    @Test(dataProvider = "mulpoints",
+          description = "Test batch inversion against single inversion")
+    @SuppressWarnings("unchecked")
+    public void batchInverseTest(final S ninput,
+                                 final P input) {
+        final S[] values = (S[])new PrimeField[3];
+
+        values[0] = ninput.clone();
+        values[1] = ninput.clone();
+        values[1].set(0);
+        values[2] = ninput.clone();
+        values[2].add(1);
+
+        final S[] expected = (S[])new PrimeField[values.length];
+
+        for(int i = 0; i < values.length; i++) {
+            expected[i] = values[i].clone();
+            expected[i].inv();
+        }
+
+        BatchInverse.inv(values, input.scratchpad());
+
+        for(int i = 0; i < values.length; i++) {
+            Assert.assertEquals(values[i], expected[i]);
+        }
+    }
+
+    /**
+     * Build the points used by the batch tests from {@code input}:
+     * its double, zero, its triple, and the sum of it and its double.
+     * The array has the runtime type of {@code input}, so subclasses
+     * can pass it where an array of a narrower point type is needed.
+     */
+    @SuppressWarnings("unchecked")
+    protected P[] batchPoints(final P input) {
+        final P[] points = (P[])Array.newInstance(input.getClass(), 4);
+
+        points[0] = input.clone();
+        points[0].dbl();
+        points[1] = zeroPoint.clone();
+        points[2] = input.clone();
+        points[2].tpl();
+        points[3] = input.clone();
+        points[3].add(points[0]);
+
+        return points;
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test batch scaling against single scaling")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void scaleAllTest(final P input) {
+        final P[] points = batchPoints(input);
+        final P[] expected = (P[])new ECPoint[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            expected[i] = points[i].clone();
+            expected[i].scale();
+        }
+
+        ECPoint.scaleAll((ECPoint[])points);
+
+        for(int i = 0; i < points.length; i++) {
+            Assert.assertEquals(points[i].getXScaled(),
+                                expected[i].getXScaled());
+            Assert.assertEquals(points[i].getYScaled(),
+                                expected[i].getYScaled());
+            Assert.assertEquals(points[i].scaleFactorRef(),
+                                expected[i].scaleFactorRef());
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test batch scaled addition against addition")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void mmaddAllTest(final P input) {
+        final P[] points = batchPoints(input);
+        final P[] others = (P[])new ECPoint[points.length];
+
+        others[0] = input.clone();
+        others[1] = input.clone();
+        others[2] = points[0].clone();
+        others[3] = zeroPoint.clone();
+
+        final P[] expected = (P[])new ECPoint[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            expected[i] = points[i].clone();
+            expected[i].add(others[i]);
+        }
+
+        ECPoint.scaleAll((ECPoint[])points);
+        ECPoint.scaleAll((ECPoint[])others);
+        ECPoint.mmaddAll((ECPoint[])points, (ECPoint[])others);
+
+        for(int i = 0; i < points.length; i++) {
+            final P scaled = points[i].clone();
+
+            scaled.scale();
+            Assert.assertEquals(points[i], expected[i]);
+            Assert.assertEquals(points[i].scaleFactorRef(),
+                                scaled.scaleFactorRef());
+        }
+    }
+
+    @Test(dataProvider = "mulpoints",
+          description = "Test multiplication by small integers")
+    public void mulSmallTest(final S ninput,
+                             final P input) {
+        final int[] ks = new int[] { 0, 1, 2, 3, 4, 5, 7, 8, 12, 45, -7 };
+
+        for(final int k : ks) {
+            final S scalar = ninput.clone();
+            final P smallpoint = input.clone();
+            final P expected = input.clone();
+
+            scalar.set(Math.abs(k));
+            smallpoint.mulSmall(k);
+            expected.mulVartime(scalar);
+
+            if (k < 0) {
+                expected.neg();
+            }
+
+            Assert.assertEquals(smallpoint, expected);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test that comparison does not modify points")
+    public void equalsTest(final P input) {
+        final P tplpoint = input.clone();
+        final P dblpoint = input.clone();
+
+        tplpoint.tpl();
+        tplpoint.add(input);
+        dblpoint.dbl();
+        dblpoint.dbl();
+
+        final S tplz = tplpoint.scaleFactorRef().clone();
+        final S dblz = dblpoint.scaleFactorRef().clone();
+
+        Assert.assertTrue(tplpoint.equals(dblpoint));
+        Assert.assertTrue(dblpoint.equals(tplpoint));
+        Assert.assertEquals(tplpoint.scaleFactorRef(), tplz);
+        Assert.assertEquals(dblpoint.scaleFactorRef(), dblz);
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test addition and doubling of scaled points")
+    public void scaledAddTest(final P input) {
+        final P scaled = input.clone();
+        final P unscaled = input.clone();
+        final P expected = input.clone();
+
+        /* 3 * input, with Z != 1 unless input is zero */
+        expected.tpl();
+        unscaled.dbl();
+        unscaled.add(input);
+        scaled.scale();
+        Assert.assertTrue(scaled.isScaled());
+
+        final P sum = unscaled.clone();
+
+        sum.scale();
+        sum.add(scaled);
+        Assert.assertFalse(sum.isScaled());
+
+        final P dbl = scaled.clone();
+
+        dbl.add(scaled);
+        dbl.add(scaled);
+        Assert.assertEquals(dbl, expected);
+
+        final P self = scaled.clone();
+
+        self.add(self);
+        self.add(scaled);
+        Assert.assertEquals(self, expected);
+
+        final P mdbl = scaled.clone();
+
+        mdbl.dbl();
+        mdbl.add(input);
+        Assert.assertEquals(mdbl, expected);
+
+        unscaled.add(scaled);
+        expected.add(input);
+        Assert.assertEquals(sum, expected);
+        Assert.assertEquals(unscaled, expected);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void cachedAdd(final ECPoint point,
+                                  final ECPoint other,
+                                  final long negate,
+                                  final long select) {
+        try(final ECPoint.Scratchpad scratch = point.scratchpad();
+            final ECPoint.Cached cached = other.cache(scratch);
+            final ECPoint.Cached entry = cached.clone()) {
+            entry.reset(scratch);
+            entry.set(select, cached, scratch);
+            entry.neg(negate, scratch);
+            point.add(entry, scratch);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test addition of cached points")
+    public void cachedAddTest(final P input) {
+        final P other = input.clone();
+        final P expected = input.clone();
+        final P sum = input.clone();
+
+        other.dbl();
+        expected.add(other);
+        cachedAdd(sum, other, 0, 1);
+        Assert.assertEquals(sum, expected);
+
+        final P scaled = input.clone();
+
+        scaled.scale();
+        cachedAdd(scaled, other, 0, 1);
+        Assert.assertEquals(scaled, expected);
+
+        final P diff = expected.clone();
+
+        cachedAdd(diff, other, 1, 1);
+        Assert.assertEquals(diff, input);
+
+        final P unchanged = input.clone();
+
+        cachedAdd(unchanged, other, 1, 0);
+        Assert.assertEquals(unchanged, input);
+
+        final P self = input.clone();
+
+        cachedAdd(self, self, 0, 1);
+        other.neg();
+        cachedAdd(self, other, 0, 1);
+        Assert.assertEquals(self, zeroPoint);
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test that chained doublings match separate ones")
+    public void dblChainTest(final P input) {
+        final P unscaled = input.clone();
+
+        unscaled.dbl();
+        unscaled.add(input);
+
+        for(int n = 0; n <= 5; n++) {
+            final P chain = unscaled.clone();
+            final P scaled = unscaled.clone();
+            final P expected = unscaled.clone();
+
+            for(int i = 0; i < n; i++) {
+                expected.dbl();
+            }
+
+            expected.add(input);
+            chain.dbl(n);
+            chain.add(input);
+            scaled.scale();
+            scaled.dbl(n);
+            scaled.add(input);
+            Assert.assertEquals(chain, expected);
+            Assert.assertEquals(scaled, expected);
+        }
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test comparison of scaled points against equals")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void mmequalsTest(final P input) {
+        final P point = input.clone();
+        final P same = input.clone();
+        final P dblpoint = input.clone();
+
+        dblpoint.dbl();
+        point.scale();
+        same.scale();
+        dblpoint.scale();
+
+        Assert.assertEquals(((ProjectivePoint)point)
+                            .mmequals((ProjectivePoint)same),
+                            point.equals(same));
+        Assert.assertEquals(((ProjectivePoint)point)
+                            .mmequals((ProjectivePoint)dblpoint),
+                            point.equals(dblpoint));
+    }
+
+    @Test(dataProvider = "points",
+          description = "Test that addition works after tripling")
+    public void tplAddTest(final P input) {
+        final P tplpoint = input.clone();
+        final P dblpoint = input.clone();
+
+        tplpoint.tpl();
+        tplpoint.add(input);
+        dblpoint.dbl();
+        dblpoint.dbl();
+
+        Assert.assertEquals(tplpoint, dblpoint);
+    }
+
+    @Test(dataProvider = "mulpoints",
+          description = "Test that fused and separate double-scalar "+
+          "multiplication are the same")
+    public void mulAddTest(final S ninput,
+                           final P input) {
+        final P q = input.clone();
+        final P expected = input.clone();
+        final P mulvartimepoint = input.clone();
+        final P muladdpoint = input.clone();
+
+        q.dbl();
+
+        final P mulpoint = q.clone();
+
+        expected.mul(ninput);
+        mulpoint.mul(ninput);
+        expected.add(mulpoint);
+        muladdpoint.mulAdd(ninput, q, ninput);
+        mulvartimepoint.mulAddVartime(ninput, q, ninput);
+
+        Assert.assertEquals(muladdpoint, expected);
+        Assert.assertEquals(mulvartimepoint, expected);
+    }
 }
@@ -36,6 +36,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import net.metricspace.crypto.math.ec.EdwardsUtils;
+import net.metricspace.crypto.math.ec.curve.MontgomeryBirationalEquivalence;
 import net.metricspace.crypto.math.ec.group.EdwardsCurveGroup;
 import net.metricspace.crypto.math.ec.point.EdwardsPoint;
 import net.metricspace.crypto.math.field.PrimeField;
@@ -162,4 +163,49 @@ public abstract class
         Assert.assertEquals(doubledX, addedX);
         Assert.assertEquals(doubledY, addedY);
     }
+
+    @Test(dataProvider = "points",
+          description = "Test batch Edwards/Montgomery conversion")
+    @SuppressWarnings("unchecked")
+    public void batchBirationalTest(final P input) {
+        final P[] points = batchPoints(input);
+        final int n = points.length;
+        final S[] x = (S[])new PrimeField[n];
+        final S[] y = (S[])new PrimeField[n];
+        final S[] u = (S[])new PrimeField[n];
+        final S[] v = (S[])new PrimeField[n];
+        final S[] uonly = (S[])new PrimeField[n];
+        final S[] xback = (S[])new PrimeField[n];
+        final S[] yback = (S[])new PrimeField[n];
+        final S[] yonly = (S[])new PrimeField[n];
+
+        for(int i = 0; i < n; i++) {
+            x[i] = points[i].edwardsX();
+            y[i] = points[i].edwardsY();
+        }
+
+        try(final ECPoint.Scratchpad<S> scratch = input.scratchpad()) {
+            MontgomeryBirationalEquivalence.edwardsToMontgomery(x, y, u, v,
+                                                                scratch);
+            MontgomeryBirationalEquivalence.edwardsYToMontgomeryU(y, uonly,
+                                                                  scratch);
+            MontgomeryBirationalEquivalence.montgomeryToEdwards(u, v,
+                                                                xback, yback,
+                                                                scratch);
+            MontgomeryBirationalEquivalence.montgomeryUToEdwardsY(u, yonly,
+                                                                  scratch);
+        }
+
+        for(int i = 0; i < n; i++) {
+            Assert.assertEquals(u[i], points[i].montgomeryX());
+            Assert.assertEquals(v[i], points[i].montgomeryY());
+            Assert.assertEquals(uonly[i], u[i]);
+
+            if (!points[i].equals(zeroPoint)) {
+                Assert.assertEquals(xback[i], x[i]);
+                Assert.assertEquals(yback[i], y[i]);
+                Assert.assertEquals(yonly[i], y[i]);
+            }
+        }
+    }
 }